@@ -0,0 +1,121 @@
+package app.benchmarks;
+
+import app.model.GlobalComment;
+import app.model.GlobalPost;
+import app.model.GlobalUsers;
+import app.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Builds the application objects the benchmarks exercise, without starting Spring.
+ */
+final class Fixtures {
+
+    static final String SECRET = "benchmark-secret-key-min-32-chars-long-for-hs256";
+
+    private Fixtures() {
+    }
+
+    static JwtUtil jwtUtil(long verifiedCacheSize) {
+        JwtUtil jwtUtil = new JwtUtil(new SimpleMeterRegistry());
+        setField(jwtUtil, "jwtSecret", SECRET);
+        setField(jwtUtil, "jwtExpiration", 86_400_000L);
+        setField(jwtUtil, "verifiedCacheMaxSize", verifiedCacheSize);
+        invoke(jwtUtil, "init");
+        return jwtUtil;
+    }
+
+    static GlobalUsers user() {
+        GlobalUsers user = new GlobalUsers("benchuser", "bench@example.com", "$2a$10$hash",
+                "bench", "q", "user");
+        user.setId(UUID.randomUUID());
+        user.setProfilePicture("https://res.cloudinary.com/demo/image/upload/profile.jpg");
+        user.setCreatedAt(Instant.now());
+        user.setLastUpdatedAt(Instant.now());
+        return user;
+    }
+
+    static GlobalPost post(GlobalUsers owner) {
+        GlobalPost post = new GlobalPost(UUID.randomUUID(),
+                "https://res.cloudinary.com/demo/image/upload/post.jpg", owner);
+        post.setCreatedAt(Instant.now());
+        post.setLikeCount(1_234);
+        post.setCommentCount(56);
+        return post;
+    }
+
+    static GlobalComment comment(GlobalPost post, GlobalUsers author, int index) {
+        GlobalComment comment = new GlobalComment(post, author, "Benchmark comment number " + index);
+        comment.setId(UUID.randomUUID());
+        comment.setCreatedAt(Instant.now());
+        return comment;
+    }
+
+    /**
+     * In-memory stand-in for a Spring Data repository: findById/findByUsername answer with the
+     * given user, anything else fails loudly so a benchmark never silently measures a no-op.
+     */
+    @SuppressWarnings("unchecked")
+    static <R> R repository(Class<R> repositoryType, GlobalUsers user) {
+        return (R) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findById", "findByUsername" -> Optional.of(user);
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemory" + repositoryType.getSimpleName();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * TransactionTemplate whose transactions do nothing, for services used with in-memory repositories
+     */
+    static TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate(new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                return new SimpleTransactionStatus();
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {
+            }
+
+            @Override
+            public void rollback(TransactionStatus status) {
+            }
+        });
+    }
+
+    static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void invoke(Object target, String name) {
+        try {
+            Method method = target.getClass().getDeclaredMethod(name);
+            method.setAccessible(true);
+            method.invoke(target);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
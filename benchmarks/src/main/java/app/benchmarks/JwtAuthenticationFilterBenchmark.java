@@ -0,0 +1,57 @@
+package app.benchmarks;
+
+import app.config.JwtAuthenticationFilter;
+import app.model.GlobalUsers;
+import app.repository.GlobalUsersRepository;
+import app.service.GlobalUserDetailsService;
+import app.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full authentication filter pass for a bearer token, with the user repository stubbed in memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtAuthenticationFilter filter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        GlobalUsers user = Fixtures.user();
+        JwtUtil jwtUtil = Fixtures.jwtUtil(10_000);
+        GlobalUserDetailsService userDetailsService = new GlobalUserDetailsService(
+                Fixtures.repository(GlobalUsersRepository.class, user),
+                Fixtures.transactionTemplate(),
+                new SimpleMeterRegistry(), 10_000, Duration.ofMinutes(10));
+
+        filter = new JwtAuthenticationFilter(jwtUtil, userDetailsService);
+        authorizationHeader = "Bearer " + jwtUtil.generateToken(user.getId(), user.getUsername());
+    }
+
+    @Benchmark
+    public Object doFilterInternal() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts/1");
+        request.addHeader("Authorization", authorizationHeader);
+        filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+}
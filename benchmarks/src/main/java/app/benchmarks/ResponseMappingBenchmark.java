@@ -0,0 +1,103 @@
+package app.benchmarks;
+
+import app.apidto.ApiResponse;
+import app.dto.CommentResponse;
+import app.dto.PostResponse;
+import app.dto.UserResponse;
+import app.model.GlobalComment;
+import app.model.GlobalPost;
+import app.model.GlobalUsers;
+import app.repository.GlobalCommentRepository;
+import app.repository.GlobalPostRepository;
+import app.repository.GlobalUsersRepository;
+import app.service.CommentService;
+import app.service.PostResponseCache;
+import app.service.PostService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping and JSON serialization, against in-memory repositories.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    @Param({"20"})
+    public int commentsPerPage;
+
+    private PostService postService;
+    private CommentService commentService;
+    private ObjectMapper objectMapper;
+
+    private GlobalUsers user;
+    private GlobalPost post;
+    private GlobalComment comment;
+    private ApiResponse<List<CommentResponse>> commentPage;
+
+    @Setup
+    public void setUp() {
+        user = Fixtures.user();
+        post = Fixtures.post(user);
+        comment = Fixtures.comment(post, user, 0);
+
+        PostResponseCache postResponseCache = new PostResponseCache(
+                new SimpleMeterRegistry(), Fixtures.transactionTemplate(), 10_000, Duration.ofSeconds(30));
+        postService = new PostService(
+                Fixtures.repository(GlobalPostRepository.class, user),
+                Fixtures.repository(GlobalUsersRepository.class, user),
+                event -> { },
+                postResponseCache,
+                null); // LikedPostsCache: likedByMe is not filled by the mapping benchmarks
+        commentService = new CommentService(
+                Fixtures.repository(GlobalCommentRepository.class, user),
+                Fixtures.repository(GlobalPostRepository.class, user),
+                postService,
+                postResponseCache,
+                event -> { });
+
+        // Same settings Spring Boot applies to its auto-configured ObjectMapper
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        List<CommentResponse> comments = new ArrayList<>();
+        for (int i = 0; i < commentsPerPage; i++) {
+            comments.add(commentService.mapCommentToResponse(Fixtures.comment(post, user, i)));
+        }
+        commentPage = ApiResponse.success(comments);
+    }
+
+    @Benchmark
+    public PostResponse mapPostToResponse() {
+        return postService.mapPostToResponse(post);
+    }
+
+    @Benchmark
+    public CommentResponse mapCommentToResponse() {
+        return commentService.mapCommentToResponse(comment);
+    }
+
+    @Benchmark
+    public UserResponse userResponseConstructor() {
+        return new UserResponse(user);
+    }
+
+    @Benchmark
+    public byte[] serializeCommentPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(commentPage);
+    }
+}
@@ -0,0 +1,57 @@
+package app.benchmarks.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms (microsecond resolution) and error counts.
+ */
+final class LatencyRecorder {
+
+    private static final long MAX_TRACKABLE_MICROS = Duration.ofMinutes(1).toNanos() / 1_000;
+
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long latencyNanos, boolean success) {
+        recorders.computeIfAbsent(endpoint, e -> new Recorder(MAX_TRACKABLE_MICROS, 3))
+                .recordValue(Math.min(latencyNanos / 1_000, MAX_TRACKABLE_MICROS));
+        if (!success) {
+            errors.computeIfAbsent(endpoint, e -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Print p50/p99/p99.9 per endpoint and the overall throughput, then reset for the next phase
+     */
+    void report(String phase, Duration elapsed, PrintStream out) {
+        Map<String, Histogram> snapshot = new TreeMap<>();
+        recorders.forEach((endpoint, recorder) -> snapshot.put(endpoint, recorder.getIntervalHistogram()));
+
+        long total = 0;
+        out.printf("%n=== %s (%.1fs) ===%n", phase, elapsed.toMillis() / 1000.0);
+        out.printf("%-28s %9s %7s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<String, Histogram> entry : snapshot.entrySet()) {
+            Histogram histogram = entry.getValue();
+            LongAdder errorCount = errors.remove(entry.getKey());
+            total += histogram.getTotalCount();
+            out.printf("%-28s %9d %7d %10.2f %10.2f %10.2f %10.2f%n",
+                    entry.getKey(),
+                    histogram.getTotalCount(),
+                    errorCount == null ? 0 : errorCount.sum(),
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0);
+        }
+        out.printf("throughput: %.1f req/s%n", total / Math.max(elapsed.toNanos() / 1e9, 1e-9));
+    }
+}
@@ -0,0 +1,258 @@
+package app.benchmarks.load;
+
+import app.TrueSocialApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end HTTP load test: boots the full application (H2 in MySQL mode, a local HTTP stand-in
+ * for Cloudinary) and drives a realistic request mix against it over real sockets.
+ * <p>
+ * With {@code --rate > 0} the load is open-loop: requests are scheduled at a fixed rate and latency
+ * is measured from the scheduled start, so queueing behind a slow server is not hidden
+ * (no coordinated omission). {@code --rate=0} runs {@code --concurrency} closed-loop workers instead
+ * to find the saturation throughput.
+ * <p>
+ * The workload is replayable: every operation is drawn from a generator split off {@code --seed} (printed
+ * at startup when not given), one per scheduled request in open-loop mode and one per worker in closed-loop
+ * mode, and it only targets the users and posts created during setup, in a fixed order. Running again with
+ * the same seed and options issues the same requests.
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar app.benchmarks.load.LoadTest \
+ *     --concurrency=64 --rate=500 --warmup=15s --duration=60s --users=200 --upload-latency=50ms --seed=42
+ * </pre>
+ */
+public final class LoadTest {
+
+    private record Session(String username, String password, String token) {
+    }
+
+    private static final String PASSWORD = "load-test-password";
+
+    private final TrueSocialClient client;
+    // Both in user order, fixed once setup is done
+    private List<Session> sessions = List.of();
+    private List<UUID> posts = List.of();
+
+    private LoadTest(TrueSocialClient client) {
+        this.client = client;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "64"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "0"));
+        Duration warmup = duration(options.getOrDefault("warmup", "15s"));
+        Duration duration = duration(options.getOrDefault("duration", "60s"));
+        int users = Integer.parseInt(options.getOrDefault("users", "200"));
+        Duration uploadLatency = duration(options.getOrDefault("upload-latency", "50ms"));
+        long seed = Long.parseLong(options.getOrDefault("seed", Long.toString(new SplittableRandom().nextLong())));
+        System.out.println("Workload seed: " + seed + " (replay with --seed=" + seed + ")");
+
+        try (CloudinaryStub cloudinary = new CloudinaryStub(uploadLatency);
+             ConfigurableApplicationContext app = start(cloudinary, Map.of())) {
+            String port = app.getEnvironment().getRequiredProperty("local.server.port");
+            LatencyRecorder recorder = new LatencyRecorder();
+            LoadTest test = new LoadTest(new TrueSocialClient("http://localhost:" + port, recorder));
+
+            long setupStart = System.nanoTime();
+            test.setUp(users, concurrency);
+            recorder.report("setup", Duration.ofNanos(System.nanoTime() - setupStart), System.out);
+
+            // Warmup and measurement draw from one stream, so the measured requests are replayable too
+            SplittableRandom workload = new SplittableRandom(seed);
+            test.run(warmup, rate, concurrency, workload);
+            recorder.report("warmup (discard)", warmup, System.out);
+
+            test.run(duration, rate, concurrency, workload);
+            recorder.report(rate > 0 ? "measurement @ " + rate + " req/s" : "measurement (saturation)",
+                    duration, System.out);
+        }
+    }
+
+    /**
+     * Boot the application on a random port against an in-memory database and the Cloudinary stand-in
+     * @param overrides Extra application properties, applied last
+     */
+    static ConfigurableApplicationContext start(CloudinaryStub cloudinary, Map<String, Object> overrides) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url",
+                "jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("cloudinary.cloud-name", "loadtest");
+        properties.put("cloudinary.api-key", "loadtest");
+        properties.put("cloudinary.api-secret", "loadtest");
+        properties.put("cloudinary.upload-prefix", cloudinary.uploadPrefix());
+        properties.put("logging.level.root", "WARN");
+        properties.putAll(overrides);
+
+        return new SpringApplicationBuilder(TrueSocialApplication.class)
+                .properties(properties)
+                .run();
+    }
+
+    /**
+     * Register and log in every user, then give each a first post so reads have something to hit
+     */
+    private void setUp(int users, int concurrency) throws InterruptedException {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        Session[] registered = new Session[users];
+        UUID[] firstPosts = new UUID[users];
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Semaphore permits = new Semaphore(concurrency);
+            for (int i = 0; i < users; i++) {
+                int index = i;
+                String username = "load_" + runId + "_" + i;
+                permits.acquire();
+                executor.execute(() -> {
+                    try {
+                        client.register(username, PASSWORD, System.nanoTime());
+                        TrueSocialClient.Result login = client.login(username, PASSWORD, System.nanoTime());
+                        if (!login.ok()) {
+                            return;
+                        }
+                        String token = login.body().path("data").path("token").asText();
+                        registered[index] = new Session(username, PASSWORD, token);
+                        firstPosts[index] = createPost(token, System.nanoTime());
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        // Index order rather than completion order, so the same seed picks the same users and posts
+        sessions = Arrays.stream(registered).filter(Objects::nonNull).toList();
+        posts = Arrays.stream(firstPosts).filter(Objects::nonNull).toList();
+        if (sessions.isEmpty() || posts.isEmpty()) {
+            throw new IllegalStateException("Setup failed: no user could register, log in and post");
+        }
+    }
+
+    /**
+     * @param workload Source of the operations; split here, on the calling thread, so the split order is fixed
+     */
+    private void run(Duration duration, double rate, int concurrency, SplittableRandom workload)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (rate > 0) {
+                // Open loop: request i is due at start + i * interval, whether or not earlier ones finished
+                Semaphore permits = new Semaphore(concurrency);
+                long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+                long start = System.nanoTime();
+                for (long i = 0; ; i++) {
+                    long scheduledAt = start + i * interval;
+                    if (scheduledAt >= deadline) {
+                        break;
+                    }
+                    SplittableRandom random = workload.split();
+                    LockSupport.parkNanos(scheduledAt - System.nanoTime());
+                    executor.execute(() -> {
+                        permits.acquireUninterruptibly();
+                        try {
+                            nextOperation(random, scheduledAt);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                }
+            } else {
+                for (int worker = 0; worker < concurrency; worker++) {
+                    SplittableRandom random = workload.split();
+                    executor.execute(() -> {
+                        while (System.nanoTime() < deadline) {
+                            nextOperation(random, System.nanoTime());
+                        }
+                    });
+                }
+            }
+        }
+    }
+
+    /**
+     * Weighted mix, read-heavy like a social feed: 35% post views, 20% comment listing,
+     * 20% like/unlike toggles, 10% comments, 10% logins, 5% image posts
+     */
+    private void nextOperation(SplittableRandom random, long scheduledAt) {
+        Session session = sessions.get(random.nextInt(sessions.size()));
+        UUID postId = posts.get(random.nextInt(posts.size()));
+        int roll = random.nextInt(100);
+
+        if (roll < 35) {
+            client.getPost(session.token(), postId, scheduledAt);
+        } else if (roll < 55) {
+            client.listComments(session.token(), postId, scheduledAt);
+        } else if (roll < 75) {
+            TrueSocialClient.Result liked = client.like(session.token(), postId, scheduledAt);
+            if (liked.status() == 409) {
+                client.unlike(session.token(), postId, System.nanoTime());
+            }
+        } else if (roll < 85) {
+            client.createComment(session.token(), postId, scheduledAt);
+        } else if (roll < 95) {
+            client.login(session.username(), session.password(), scheduledAt);
+        } else {
+            createPost(session.token(), scheduledAt);
+        }
+    }
+
+    /**
+     * @return ID of the new post, or null if it was not created
+     */
+    private UUID createPost(String token, long scheduledAt) {
+        TrueSocialClient.Result created = client.createPost(token, scheduledAt);
+        return created.ok() ? UUID.fromString(created.body().path("data").path("id").asText()) : null;
+    }
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        List<String> unknown = new ArrayList<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                unknown.add(arg);
+                continue;
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Expected --name=value arguments, got " + unknown);
+        }
+        return options;
+    }
+
+    /**
+     * Parse "60s", "500ms", "2m" or an ISO-8601 duration
+     */
+    static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.parse(value);
+    }
+}
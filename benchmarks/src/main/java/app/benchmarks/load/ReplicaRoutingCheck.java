@@ -0,0 +1,124 @@
+package app.benchmarks.load;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Read-replica routing, end to end: the application runs against two in-memory H2 databases standing in
+ * for the primary and the replica. Replication is simulated by copying the primary into the replica
+ * ({@link #replicate()}), so the replica lags for exactly as long as this check wants.
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar app.benchmarks.load.ReplicaRoutingCheck --read-your-writes-window=2s
+ * </pre>
+ * Expected: nobody but its author sees a new comment until the replica is synced; the author sees it at
+ * once (read-your-writes) and reads the lagging replica again once their window has passed.
+ */
+public final class ReplicaRoutingCheck {
+
+    private static final String PRIMARY_URL =
+            "jdbc:h2:mem:replica_check_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_URL =
+            "jdbc:h2:mem:replica_check_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final String PASSWORD = "load-test-password";
+
+    private static int failures;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadTest.parse(args);
+        Duration window = LoadTest.duration(options.getOrDefault("read-your-writes-window", "2s"));
+
+        Map<String, Object> overrides = Map.of(
+                "spring.datasource.url", PRIMARY_URL,
+                "db.replica.url", REPLICA_URL,
+                "db.replica.read-your-writes-window", window.toMillis() + "ms");
+
+        try (CloudinaryStub cloudinary = new CloudinaryStub(Duration.ZERO);
+             ConfigurableApplicationContext app = LoadTest.start(cloudinary, overrides)) {
+            // The schema is only created on the primary
+            replicate();
+
+            String port = app.getEnvironment().getRequiredProperty("local.server.port");
+            TrueSocialClient client = new TrueSocialClient("http://localhost:" + port, new LatencyRecorder());
+            String author = signUp(client, "replica_author");
+            String reader = signUp(client, "replica_reader");
+
+            TrueSocialClient.Result created = client.createPost(author, System.nanoTime());
+            if (!created.ok()) {
+                throw new IllegalStateException("Post creation failed with status " + created.status());
+            }
+            UUID postId = UUID.fromString(created.body().path("data").path("id").asText());
+            replicate();
+
+            check("author can comment", client.createComment(author, postId, System.nanoTime()).ok());
+            check("reader does not see the comment before replication", commentCount(client, reader, postId) == 0);
+            check("author sees their own comment at once", commentCount(client, author, postId) == 1);
+
+            Thread.sleep(window.plusMillis(500).toMillis());
+            check("author reads the replica again after the window", commentCount(client, author, postId) == 0);
+
+            replicate();
+            check("reader sees the comment after replication", commentCount(client, reader, postId) == 1);
+        }
+
+        System.out.println(failures == 0 ? "PASS" : "FAIL: " + failures + " check(s) failed");
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static String signUp(TrueSocialClient client, String username) {
+        client.register(username, PASSWORD, System.nanoTime());
+        TrueSocialClient.Result login = client.login(username, PASSWORD, System.nanoTime());
+        if (!login.ok()) {
+            throw new IllegalStateException("Login of " + username + " failed with status " + login.status());
+        }
+        return login.body().path("data").path("token").asText();
+    }
+
+    private static int commentCount(TrueSocialClient client, String token, UUID postId) {
+        TrueSocialClient.Result page = client.listComments(token, postId, System.nanoTime());
+        if (!page.ok()) {
+            throw new IllegalStateException("Listing comments failed with status " + page.status());
+        }
+        return page.body().path("data").path("items").size();
+    }
+
+    private static void check(String description, boolean passed) {
+        System.out.println((passed ? "ok   " : "FAIL ") + description);
+        if (!passed) {
+            failures++;
+        }
+    }
+
+    /**
+     * Replace the replica's contents with a snapshot of the primary
+     */
+    private static void replicate() throws SQLException {
+        List<String> script = new ArrayList<>();
+        try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+             Statement statement = primary.createStatement();
+             ResultSet rows = statement.executeQuery("SCRIPT")) {
+            while (rows.next()) {
+                script.add(rows.getString(1));
+            }
+        }
+
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : script) {
+                statement.execute(sql);
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package app.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Thin HTTP client for the TrueSocial API. Every call is recorded under a templated endpoint
+ * name, measured from the time the request was <em>scheduled</em> so queueing delay is included.
+ */
+final class TrueSocialClient {
+
+    record Result(int status, JsonNode body) {
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    // Smallest valid PNG (1x1); the stand-in never looks at the bytes
+    private static final byte[] IMAGE = java.util.Base64.getDecoder().decode(
+            "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNkYPhfDwAChwGA60e6kgAAAABJRU5ErkJggg==");
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String baseUrl;
+    private final LatencyRecorder recorder;
+
+    TrueSocialClient(String baseUrl, LatencyRecorder recorder) {
+        this.baseUrl = baseUrl;
+        this.recorder = recorder;
+    }
+
+    Result register(String username, String password, long scheduledAt) {
+        return send("POST /api/auth/register", json("/api/auth/register", null, Map.of(
+                "username", username,
+                "password", password,
+                "email", username + "@loadtest.local",
+                "firstname", "load",
+                "lastname", "test")), scheduledAt);
+    }
+
+    Result login(String username, String password, long scheduledAt) {
+        return send("POST /api/auth/login", json("/api/auth/login", null, Map.of(
+                "username", username,
+                "password", password)), scheduledAt);
+    }
+
+    Result createPost(String token, long scheduledAt) {
+        String boundary = "loadtest-" + UUID.randomUUID();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"image.png\"\r\n"
+                + "Content-Type: image/png\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(IMAGE);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        HttpRequest request = authorized("/api/posts", token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+        return send("POST /api/posts", request, scheduledAt);
+    }
+
+    Result getPost(String token, UUID postId, long scheduledAt) {
+        return send("GET /api/posts/{id}", authorized("/api/posts/" + postId, token).GET().build(), scheduledAt);
+    }
+
+    Result like(String token, UUID postId, long scheduledAt) {
+        return send("POST /api/posts/{id}/like",
+                authorized("/api/posts/" + postId + "/like", token).POST(HttpRequest.BodyPublishers.noBody()).build(),
+                scheduledAt);
+    }
+
+    Result unlike(String token, UUID postId, long scheduledAt) {
+        return send("DELETE /api/posts/{id}/like",
+                authorized("/api/posts/" + postId + "/like", token).DELETE().build(), scheduledAt);
+    }
+
+    Result createComment(String token, UUID postId, long scheduledAt) {
+        return send("POST /api/posts/{id}/comments", json("/api/posts/" + postId + "/comments", token,
+                Map.of("comment", "Load test comment " + UUID.randomUUID())), scheduledAt);
+    }
+
+    Result listComments(String token, UUID postId, long scheduledAt) {
+        return send("GET /api/posts/{id}/comments",
+                authorized("/api/posts/" + postId + "/comments?limit=20", token).GET().build(), scheduledAt);
+    }
+
+    private HttpRequest json(String path, String token, Map<String, String> payload) {
+        try {
+            return authorized(path, token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(payload)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest.Builder authorized(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofMinutes(2));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private Result send(String endpoint, HttpRequest request, long scheduledAt) {
+        try {
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            long latency = System.nanoTime() - scheduledAt;
+            JsonNode body = response.body().length == 0 ? null : JSON.readTree(response.body());
+            Result result = new Result(response.statusCode(), body);
+            recorder.record(endpoint, latency, result.ok());
+            return result;
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - scheduledAt, false);
+            return new Result(-1, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Result(-1, null);
+        }
+    }
+}
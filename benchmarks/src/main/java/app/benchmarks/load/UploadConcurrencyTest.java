@@ -0,0 +1,69 @@
+package app.benchmarks.load;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Throughput of many concurrent slow uploads (each Cloudinary call waits {@code --upload-latency}),
+ * in virtual-thread mode or on Tomcat's platform-thread pool. Every upload is released at the same
+ * instant and timed from that instant. Compare:
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar app.benchmarks.load.UploadConcurrencyTest --virtual-threads=true
+ * java -cp benchmarks/target/benchmarks.jar app.benchmarks.load.UploadConcurrencyTest --virtual-threads=false
+ * </pre>
+ * With platform threads, throughput is capped near {@code server.tomcat.threads.max / latency};
+ * in virtual-thread mode it should approach {@code uploads / latency}.
+ */
+public final class UploadConcurrencyTest {
+
+    private static final String USERNAME = "upload_load_test";
+    private static final String PASSWORD = "load-test-password";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadTest.parse(args);
+        int uploads = Integer.parseInt(options.getOrDefault("uploads", "5000"));
+        int warmupUploads = Integer.parseInt(options.getOrDefault("warmup-uploads", "500"));
+        Duration uploadLatency = LoadTest.duration(options.getOrDefault("upload-latency", "1s"));
+        boolean virtualThreads = Boolean.parseBoolean(options.getOrDefault("virtual-threads", "true"));
+
+        Map<String, Object> overrides = Map.of(
+                "spring.threads.virtual.enabled", virtualThreads,
+                // Measure queueing, not rejection
+                "uploads.queue-timeout", "5m",
+                "server.tomcat.max-connections", uploads + 1_000,
+                "server.tomcat.accept-count", uploads);
+
+        try (CloudinaryStub cloudinary = new CloudinaryStub(uploadLatency);
+             ConfigurableApplicationContext app = LoadTest.start(cloudinary, overrides)) {
+            String port = app.getEnvironment().getRequiredProperty("local.server.port");
+            LatencyRecorder recorder = new LatencyRecorder();
+            TrueSocialClient client = new TrueSocialClient("http://localhost:" + port, recorder);
+
+            client.register(USERNAME, PASSWORD, System.nanoTime());
+            TrueSocialClient.Result login = client.login(USERNAME, PASSWORD, System.nanoTime());
+            if (!login.ok()) {
+                throw new IllegalStateException("Login failed with status " + login.status());
+            }
+            String token = login.body().path("data").path("token").asText();
+
+            String mode = virtualThreads ? "virtual threads" : "platform threads";
+            recorder.report("warmup (discard)", burst(client, token, warmupUploads), System.out);
+            recorder.report(uploads + " concurrent uploads, " + uploadLatency.toMillis() + " ms each, " + mode,
+                    burst(client, token, uploads), System.out);
+        }
+    }
+
+    private static Duration burst(TrueSocialClient client, String token, int uploads) {
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < uploads; i++) {
+                executor.execute(() -> client.createPost(token, start));
+            }
+        }
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+}
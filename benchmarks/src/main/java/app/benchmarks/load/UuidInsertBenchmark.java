@@ -0,0 +1,127 @@
+package app.benchmarks.load;
+
+import app.util.UuidBytes;
+import app.util.UuidV7;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput with random (v4) versus time-ordered (v7) UUID primary keys stored as BINARY(16),
+ * the layout UuidV7IdGenerator is used with. Each generator gets its own table, seeded with
+ * {@code --seed-rows} keys from the same generator so the index is already larger than a few pages,
+ * then {@code --inserts} more rows are inserted in committed batches of {@code --batch-size}.
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar app.benchmarks.load.UuidInsertBenchmark \
+ *     --url=jdbc:mysql://localhost:3306/bench --user=bench --password=... --seed-rows=2000000 --inserts=500000
+ * </pre>
+ * Without {@code --url} it runs against in-memory H2 in MySQL mode, which shows the trend but not
+ * InnoDB's page splits and buffer-pool misses; measure on MySQL for real numbers.
+ */
+public final class UuidInsertBenchmark {
+
+    private static final String PAYLOAD = "x".repeat(100);
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int seedRows;
+    private final int inserts;
+    private final int batchSize;
+
+    private UuidInsertBenchmark(String url, String user, String password, int seedRows, int inserts, int batchSize) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.seedRows = seedRows;
+        this.inserts = inserts;
+        this.batchSize = batchSize;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadTest.parse(args);
+        UuidInsertBenchmark benchmark = new UuidInsertBenchmark(
+                options.getOrDefault("url", "jdbc:h2:mem:uuid_insert;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"),
+                options.getOrDefault("user", "sa"),
+                options.getOrDefault("password", ""),
+                Integer.parseInt(options.getOrDefault("seed-rows", "1000000")),
+                Integer.parseInt(options.getOrDefault("inserts", "200000")),
+                Integer.parseInt(options.getOrDefault("batch-size", "500")));
+
+        benchmark.run("uuid_insert_v4", UUID::randomUUID);
+        benchmark.run("uuid_insert_v7", UuidV7::next);
+    }
+
+    private void run(String table, Supplier<UUID> ids) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS " + table);
+                statement.execute("CREATE TABLE " + table + " (id BINARY(16) NOT NULL PRIMARY KEY, "
+                        + "payload VARCHAR(100) NOT NULL, created_at TIMESTAMP NOT NULL)");
+            }
+            connection.commit();
+
+            long seedStart = System.nanoTime();
+            insert(connection, table, ids, seedRows, null);
+            System.out.printf("%s: seeded %,d rows in %s%n", table, seedRows,
+                    Duration.ofNanos(System.nanoTime() - seedStart));
+
+            long[] batchNanos = new long[(inserts + batchSize - 1) / batchSize];
+            long start = System.nanoTime();
+            insert(connection, table, ids, inserts, batchNanos);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            Arrays.sort(batchNanos);
+            System.out.printf("%s: %,d inserts in %s = %,.0f rows/s; batch of %d p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                    table, inserts, elapsed, inserts / (elapsed.toNanos() / 1e9), batchSize,
+                    percentile(batchNanos, 0.50), percentile(batchNanos, 0.99), percentile(batchNanos, 1.0));
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE " + table);
+            }
+            connection.commit();
+        }
+    }
+
+    /**
+     * Insert rows in committed batches, recording each batch's duration if batchNanos is given
+     */
+    private void insert(Connection connection, String table, Supplier<UUID> ids, int rows, long[] batchNanos)
+            throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (id, payload, created_at) VALUES (?, ?, ?)")) {
+            int batch = 0;
+            for (int done = 0; done < rows; done += batchSize) {
+                long batchStart = System.nanoTime();
+                Timestamp now = Timestamp.from(Instant.now());
+                for (int i = done; i < Math.min(rows, done + batchSize); i++) {
+                    insert.setBytes(1, UuidBytes.toBytes(ids.get()));
+                    insert.setString(2, PAYLOAD);
+                    insert.setTimestamp(3, now);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                connection.commit();
+                if (batchNanos != null) {
+                    batchNanos[batch++] = System.nanoTime() - batchStart;
+                }
+            }
+        }
+    }
+
+    private static double percentile(long[] sortedNanos, double quantile) {
+        int index = (int) Math.ceil(quantile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1e6;
+    }
+}
@@ -0,0 +1,67 @@
+package app.config;
+
+import app.util.RequestStatementStats;
+import com.zaxxer.hikari.HikariDataSource;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class DataSourceProxyConfig {
+
+    /**
+     * Wrap the connection pool so every JDBC statement (JPA and plain JdbcTemplate alike)
+     * is counted and timed against the request that issued it; see EndpointMetricsFilter.
+     * In virtual-thread mode, connection checkout is also gated by ConnectionLimitingDataSource.
+     * The replica-routing DataSource is skipped: its primary and replica pools are wrapped themselves.
+     */
+    @Bean
+    public static BeanPostProcessor statementTrackingDataSourcePostProcessor(Environment environment) {
+        boolean virtualThreads = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        Duration queueTimeout = environment.getProperty("db.connection-queue-timeout", Duration.class, Duration.ofSeconds(60));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource
+                        && !(bean instanceof ProxyDataSource)
+                        && !(bean instanceof LazyConnectionDataSourceProxy)) {
+                    if (virtualThreads && bean instanceof HikariDataSource pool) {
+                        dataSource = new ConnectionLimitingDataSource(pool, pool.getMaximumPoolSize(), queueTimeout);
+                    }
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new RequestStatementListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static final class RequestStatementListener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            RequestStatementStats.statementStarted();
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            // A JDBC batch is one round trip; count it once under the shape of its first statement
+            String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+            RequestStatementStats.statementFinished(sql);
+        }
+    }
+}
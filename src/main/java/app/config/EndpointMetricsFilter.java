@@ -0,0 +1,144 @@
+package app.config;
+
+import app.util.RequestStatementStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-endpoint metrics for every controller in app.controller:
+ * <ul>
+ *   <li>{@code app.endpoint.requests} - latency, tagged with status and exception type</li>
+ *   <li>{@code app.endpoint.errors} - requests that ended in an exception, including the ones
+ *       turned into error responses by the controllers' @ExceptionHandler methods</li>
+ *   <li>{@code app.endpoint.db.statements} / {@code app.endpoint.db.time} - JDBC statements and
+ *       total database time per request (includes the authentication filter's lookups)</li>
+ *   <li>{@code app.endpoint.n-plus-one} - requests that ran the same statement shape more than
+ *       {@code metrics.n-plus-one.threshold} times; each one is also logged with the statement</li>
+ * </ul>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class EndpointMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(EndpointMetricsFilter.class);
+
+    private static final String CONTROLLER_PACKAGE = "app.controller";
+    private static final int MAX_LOGGED_SQL_LENGTH = 300;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${metrics.n-plus-one.threshold:10}")
+    private int nPlusOneThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long start = System.nanoTime();
+        Throwable failure = null;
+        RequestStatementStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            RequestStatementStats stats = RequestStatementStats.end();
+            if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler
+                    && CONTROLLER_PACKAGE.equals(handler.getBeanType().getPackageName())) {
+                record(request, response, handler, failure, System.nanoTime() - start, stats);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request,
+                        HttpServletResponse response,
+                        HandlerMethod handler,
+                        Throwable failure,
+                        long elapsedNanos,
+                        RequestStatementStats stats) {
+
+        // Exceptions resolved by an @ExceptionHandler are exposed here by the DispatcherServlet
+        Throwable exception = failure != null
+                ? failure
+                : (Throwable) request.getAttribute(DispatcherServlet.EXCEPTION_ATTRIBUTE);
+        String exceptionName = exception == null ? "none" : exception.getClass().getSimpleName();
+        String status = failure != null ? "500" : String.valueOf(response.getStatus());
+        Tags endpoint = Tags.of(
+                "controller", handler.getBeanType().getSimpleName(),
+                "method", handler.getMethod().getName());
+
+        Timer.builder("app.endpoint.requests")
+                .tags(endpoint)
+                .tags("status", status, "exception", exceptionName)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        if (exception != null) {
+            Counter.builder("app.endpoint.errors")
+                    .tags(endpoint)
+                    .tag("exception", exceptionName)
+                    .register(meterRegistry)
+                    .increment();
+        }
+
+        if (stats == null) {
+            return;
+        }
+        DistributionSummary.builder("app.endpoint.db.statements")
+                .tags(endpoint)
+                .register(meterRegistry)
+                .record(stats.statements());
+        Timer.builder("app.endpoint.db.time")
+                .tags(endpoint)
+                .register(meterRegistry)
+                .record(stats.dbTimeNanos(), TimeUnit.NANOSECONDS);
+
+        stats.mostRepeatedShape()
+                .filter(shape -> shape.getValue() > nPlusOneThreshold)
+                .ifPresent(shape -> reportNPlusOne(request, handler, endpoint, shape, stats));
+    }
+
+    private void reportNPlusOne(HttpServletRequest request,
+                                HandlerMethod handler,
+                                Tags endpoint,
+                                Map.Entry<String, Integer> shape,
+                                RequestStatementStats stats) {
+        Counter.builder("app.endpoint.n-plus-one")
+                .tags(endpoint)
+                .register(meterRegistry)
+                .increment();
+
+        String sql = shape.getKey();
+        logger.warn("Possible N+1 in {}.{} ({} {}): same statement ran {} times ({} statements total): {}",
+                handler.getBeanType().getSimpleName(), handler.getMethod().getName(),
+                request.getMethod(), request.getRequestURI(),
+                shape.getValue(), stats.statements(),
+                sql.length() > MAX_LOGGED_SQL_LENGTH ? sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "..." : sql);
+    }
+}
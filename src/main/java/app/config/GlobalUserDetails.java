@@ -7,14 +7,36 @@ import app.model.GlobalUsers;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.UUID;
+import java.util.function.Function;
 
 /**
  * Custom implementation of Spring Security's UserDetails interface.
- * This class wraps the GlobalUsers entity to provide security-specific information.
- *
- * @param user Store a reference to the actual database entity
+ * Holds only the identity needed to authenticate a request (ID, username, password hash);
+ * the GlobalUsers entity itself is fetched through the loader the first time a caller asks for it,
+ * so requests that never touch the user never hit the database for it.
+ * Instances are immutable and may be shared between requests (see GlobalUserDetailsService's cache).
  */
-public record GlobalUserDetails(GlobalUsers user) implements UserDetails {
+public final class GlobalUserDetails implements UserDetails {
+
+    private final UUID userId;
+    private final String username;
+    private final String password;
+    private final transient Function<UUID, GlobalUsers> userLoader;
+
+    public GlobalUserDetails(UUID userId, String username, String password, Function<UUID, GlobalUsers> userLoader) {
+        this.userId = userId;
+        this.username = username;
+        this.password = password;
+        this.userLoader = userLoader;
+    }
+
+    /**
+     * Wraps an entity that is already loaded; getUser() simply returns it.
+     */
+    public GlobalUserDetails(GlobalUsers user) {
+        this(user.getId(), user.getUsername(), user.getPassword(), id -> user);
+    }
 
     /**
      * Retrieves the authorities (roles/permissions) granted to the user.
@@ -32,7 +54,7 @@ public record GlobalUserDetails(GlobalUsers user) implements UserDetails {
      */
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     /**
@@ -40,7 +62,7 @@ public record GlobalUserDetails(GlobalUsers user) implements UserDetails {
      */
     @Override
     public String getUsername() {
-        return user.getUsername();
+        return username;
     }
 
     // --- Standard Spring Security Account Status Checks ---
@@ -67,7 +89,17 @@ public record GlobalUserDetails(GlobalUsers user) implements UserDetails {
         return true;
     }
 
+    /**
+     * ID of the authenticated user. Never touches the database.
+     */
+    public UUID getUserId() {
+        return userId;
+    }
+
+    /**
+     * Loads the full GlobalUsers entity. Only call this when the entity is really needed.
+     */
     public GlobalUsers getUser() {
-        return user;
+        return userLoader.apply(userId);
     }
-}
\ No newline at end of file
+}
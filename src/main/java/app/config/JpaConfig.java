@@ -0,0 +1,21 @@
+package app.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.type.SqlTypes;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaConfig {
+
+    /**
+     * Pin every UUID column (IDs, foreign keys, plain UUID columns) to Hibernate's native UUID type,
+     * which the MySQL dialect stores as BINARY(16). The time-ordered IDs from UuidV7Id depend on
+     * this byte-wise layout, and so do the JDBC writers that bind UUIDs via UuidBytes.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer uuidColumnTypeCustomizer() {
+        return properties -> properties.put(AvailableSettings.PREFERRED_UUID_JDBC_TYPE, SqlTypes.UUID);
+    }
+}
@@ -1,6 +1,9 @@
 package app.config;
 
+import app.service.GlobalUserDetailsService;
 import app.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,19 +12,20 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final GlobalUserDetailsService userDetailsService;
     private static final String BEARER_PREFIX = "Bearer ";
     private static final String HEADER_AUTHORIZATION = "Authorization";
 
@@ -34,9 +38,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = extractJwtFromRequest(request);
 
-            if (jwt != null && jwtUtil.isTokenValid(jwt)) {
-                String username = jwtUtil.extractUsername(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (jwt != null) {
+                // Single parse + signature check (or a cache hit for a recently seen token)
+                Claims claims = jwtUtil.verify(jwt);
+                String username = claims.getSubject();
+                String userId = claims.get("userId", String.class);
+
+                // Principal comes from the claims + the user-details cache; no query on a cache hit
+                UserDetails userDetails = userId != null
+                        ? userDetailsService.loadUserById(UUID.fromString(userId))
+                        : userDetailsService.loadUserByUsername(username);
+
+                // A token issued before a rename must not authenticate as the renamed account
+                if (!userDetails.getUsername().equals(username)) {
+                    throw new JwtException("Token subject no longer matches user " + userId);
+                }
 
                 // Create authentication token
                 UsernamePasswordAuthenticationToken authentication =
@@ -48,6 +64,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
+        } catch (JwtException | UsernameNotFoundException e) {
+            logger.debug("Rejected JWT: " + e.getMessage());
         } catch (Exception e) {
             logger.error("Cannot set user authentication: " + e.getMessage(), e);
         }
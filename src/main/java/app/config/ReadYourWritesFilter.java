@@ -0,0 +1,54 @@
+package app.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Opens the caller's read-your-writes window on every mutating request. Registered after the security
+ * filter chain, so the principal is known. The window is started before the request runs, so reads
+ * made after its own writes (e.g. mapping the response) already go to the primary, and restarted once
+ * it has finished, so it counts from the commit.
+ */
+final class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+    // POST only to carry a request body; every batch operation is a read
+    private static final String BATCH_PATH = "/api/batch";
+
+    private final ReadYourWritesTracker tracker;
+
+    ReadYourWritesFilter(ReadYourWritesTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        UUID writer = isMutation(request) ? ReadYourWritesTracker.currentUserId() : null;
+        if (writer == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        tracker.recordWrite(writer);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            tracker.recordWrite(writer);
+        }
+    }
+
+    private static boolean isMutation(HttpServletRequest request) {
+        return !SAFE_METHODS.contains(request.getMethod()) && !BATCH_PATH.equals(request.getServletPath());
+    }
+}
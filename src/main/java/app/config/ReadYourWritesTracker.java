@@ -0,0 +1,50 @@
+package app.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Users who made a change within the last {@code db.replica.read-your-writes-window}. While a user is
+ * in the window, ReplicaRoutingDataSource serves their read-only transactions from the primary, so they
+ * see their own new comment before the replica has caught up. The window is kept per instance: a
+ * follow-up read served by another instance can still hit the replica.
+ */
+final class ReadYourWritesTracker {
+
+    private final Cache<UUID, Boolean> recentWriters;
+
+    ReadYourWritesTracker(Duration window, long maxUsers) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    /**
+     * Start (or restart) the user's window
+     */
+    void recordWrite(UUID userId) {
+        recentWriters.put(userId, Boolean.TRUE);
+    }
+
+    /**
+     * Whether the user authenticated on the current thread is inside their window
+     */
+    boolean currentUserWroteRecently() {
+        UUID userId = currentUserId();
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+
+    static UUID currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof GlobalUserDetails user) {
+            return user.getUserId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,100 @@
+package app.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read replica support, active when {@code db.replica.url} is set.
+ * <p>
+ * The primary pool is built from {@code spring.datasource.*} as usual, the replica pool from
+ * {@code db.replica.*} (credentials default to the primary's, pool settings under {@code db.replica.hikari.*}).
+ * The application's DataSource routes each transaction: {@code @Transactional(readOnly = true)} reads go
+ * to the replica, everything else to the primary (see ReplicaRoutingDataSource). A user who has just
+ * made a change reads from the primary for {@code db.replica.read-your-writes-window}.
+ * <p>
+ * Without {@code db.replica.url}, Spring Boot's single pool is used and nothing here is created.
+ */
+@Configuration
+@ConditionalOnProperty("db.replica.url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (StringUtils.hasText(properties.getName())) {
+            primary.setPoolName(properties.getName());
+        }
+        return primary;
+    }
+
+    @Bean
+    @ConfigurationProperties("db.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${db.replica.url}") String url,
+                                              @Value("${db.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${db.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        replica.setPoolName("replica");
+        // A write that reaches the replica by mistake fails instead of diverging from the primary
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    /**
+     * Both pools are wrapped by DataSourceProxyConfig first, so statements are counted (and, in
+     * virtual-thread mode, connection checkout is limited) per pool.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReadYourWritesTracker readYourWritesTracker,
+                                 MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replica, readYourWritesTracker, meterRegistry));
+    }
+
+    @Bean
+    ReadYourWritesTracker readYourWritesTracker(@Value("${db.replica.read-your-writes-window:5s}") Duration window,
+                                                @Value("${db.replica.read-your-writes-max-users:100000}") long maxUsers) {
+        return new ReadYourWritesTracker(window, maxUsers);
+    }
+
+    @Bean
+    ReadYourWritesFilter readYourWritesFilter(ReadYourWritesTracker readYourWritesTracker) {
+        return new ReadYourWritesFilter(readYourWritesTracker);
+    }
+
+    /**
+     * Hibernate normally keeps its connection until the EntityManager closes, which with open-in-view is
+     * the end of the request, so a replica connection taken by a read could be reused by a later write.
+     * Releasing it after each transaction makes every transaction route on its own.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandlingCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
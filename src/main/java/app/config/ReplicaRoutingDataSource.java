@@ -0,0 +1,50 @@
+package app.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends connections for read-only transactions to the replica, unless the current user is inside
+ * their read-your-writes window; everything else (read-write transactions, non-transactional access,
+ * schema creation) goes to the primary.
+ * <p>
+ * The decision reads the transaction's read-only flag, which Spring only sets after the transaction
+ * has begun, so this must sit behind a LazyConnectionDataSourceProxy that defers fetching the real
+ * connection until the first statement.
+ */
+final class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private enum Target { PRIMARY, REPLICA }
+
+    private final ReadYourWritesTracker readYourWrites;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+
+    ReplicaRoutingDataSource(DataSource primary,
+                             DataSource replica,
+                             ReadYourWritesTracker readYourWrites,
+                             MeterRegistry meterRegistry) {
+        this.readYourWrites = readYourWrites;
+        this.primaryConnections = meterRegistry.counter("db.connections.routed", "target", "primary");
+        this.replicaConnections = meterRegistry.counter("db.connections.routed", "target", "replica");
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !readYourWrites.currentUserWroteRecently()) {
+            replicaConnections.increment();
+            return Target.REPLICA;
+        }
+        primaryConnections.increment();
+        return Target.PRIMARY;
+    }
+}
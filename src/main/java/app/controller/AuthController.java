@@ -1,5 +1,6 @@
 package app.controller;
 
+import app.dto.AvailabilityResponse;
 import app.dto.LoginResponse;
 import app.dto.RegisterResponse;
 import jakarta.validation.Valid;
@@ -13,8 +14,10 @@ import app.apidto.ApiResponse;
 import app.dto.RegisterRequest;
 import app.dto.LoginRequest;
 import app.exception.InvalidCredentialsException;
+import app.exception.PasswordHashingUnavailableException;
 import app.exception.UserAlreadyExistsException;
 import app.service.AuthService;
+import app.service.AvailabilityService;
 
 /**
  * Controller for handling authentication-related operations such as user registration and login.
@@ -24,14 +27,17 @@ import app.service.AuthService;
 public class AuthController {
 
     private final AuthService authService;
+    private final AvailabilityService availabilityService;
 
     /**
      * Constructor for AuthController.
      *
      * @param authService the authentication service to handle business logic
+     * @param availabilityService answers username / email availability checks
      */
-    public AuthController(AuthService authService) {
+    public AuthController(AuthService authService, AvailabilityService availabilityService) {
         this.authService = authService;
+        this.availabilityService = availabilityService;
     }
 
     /**
@@ -60,6 +66,24 @@ public class AuthController {
 
 
 
+    /**
+     * Checks whether a username and/or email is still free, for live validation in signup forms.
+     * Advisory only: registration itself is decided by the database's unique constraints.
+     *
+     * @param username the username to check (optional)
+     * @param email the email to check (optional)
+     * @return a ResponseEntity with the availability of each value that was asked for
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<ApiResponse<AvailabilityResponse>> checkAvailability(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email) {
+        if (username == null && email == null) {
+            throw new IllegalArgumentException("Provide a username, an email, or both.");
+        }
+        return ResponseEntity.ok(ApiResponse.success(availabilityService.check(username, email)));
+    }
+
     // --- EXCEPTION HANDLERS ---
 
     @ExceptionHandler(UserAlreadyExistsException.class)
@@ -75,4 +99,19 @@ public class AuthController {
                 .status(HttpStatus.UNAUTHORIZED) // 401
                 .body(ApiErrorResponse.failed(ex.getMessage()));
     }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST) // 400
+                .body(ApiErrorResponse.failed(ex.getMessage()));
+    }
+
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<ApiErrorResponse> handlePasswordHashingUnavailableException(PasswordHashingUnavailableException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE) // 503
+                .header("Retry-After", "1")
+                .body(ApiErrorResponse.failed(ex.getMessage()));
+    }
 }
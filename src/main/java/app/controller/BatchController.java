@@ -0,0 +1,43 @@
+package app.controller;
+
+import app.apidto.ApiErrorResponse;
+import app.apidto.ApiResponse;
+import app.config.GlobalUserDetails;
+import app.dto.BatchItemResponse;
+import app.dto.BatchRequest;
+import app.service.BatchService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/batch")
+public class BatchController {
+
+    private final BatchService batchService;
+
+    /**
+     * Run several read operations in one round trip; results come back in request order,
+     * each with its own status (see BatchService for the supported operations)
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<List<BatchItemResponse>>> executeBatch(
+            @AuthenticationPrincipal GlobalUserDetails globalUserDetails,
+            @Valid @RequestBody BatchRequest request) {
+        List<BatchItemResponse> results = batchService.execute(request.getOperations(), globalUserDetails.getUser());
+        return ResponseEntity.ok(ApiResponse.success(results));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ApiErrorResponse.failed(ex.getMessage()));
+    }
+}
@@ -5,6 +5,7 @@ import app.apidto.ApiResponse;
 import app.config.GlobalUserDetails;
 import app.dto.CommentCreateRequest;
 import app.dto.CommentResponse;
+import app.dto.CursorPageResponse;
 import app.exception.CommentNotFoundException;
 import app.exception.PostNotFoundException;
 import app.exception.UnauthorizedException;
@@ -13,22 +14,20 @@ import app.model.GlobalUsers;
 import app.service.CommentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/posts/{postId}/comments")
 public class CommentController {
 
+    private static final int MAX_LIMIT = 100;
+
     private final CommentService commentService;
 
     @PostMapping
@@ -42,15 +41,20 @@ public class CommentController {
         return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(commentResponse));
     }
 
+    /**
+     * Get a post's comments, newest first, using cursor pagination.
+     * Pass the returned nextCursor to fetch the following page.
+     */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<CommentResponse>>> getCommentsForPost(
+    public ResponseEntity<ApiResponse<CursorPageResponse<CommentResponse>>> getCommentsForPost(
             @PathVariable UUID postId,
-            Pageable pageable) {
-        Page<GlobalComment> comments = commentService.getPostComments(postId, pageable);
-        List<CommentResponse> commentResponses = comments.stream()
-                .map(commentService::mapCommentToResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(ApiResponse.success(commentResponses));
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        CursorPageResponse<CommentResponse> page = commentService.getPostCommentsPage(postId, cursor, limit);
+        return ResponseEntity.ok(ApiResponse.success(page));
     }
 
     @DeleteMapping("/{commentId}")
@@ -89,6 +93,13 @@ public class CommentController {
                 .body(ApiErrorResponse.failed(ex.getMessage()));
     }
 
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ApiErrorResponse.failed(ex.getMessage()));
+    }
+
     @ExceptionHandler(UnauthorizedException.class)
     public ResponseEntity<ApiErrorResponse> handleUnauthorizedException(UnauthorizedException ex) {
         return ResponseEntity
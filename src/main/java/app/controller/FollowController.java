@@ -0,0 +1,72 @@
+package app.controller;
+
+import app.apidto.ApiErrorResponse;
+import app.apidto.ApiResponse;
+import app.config.GlobalUserDetails;
+import app.dto.FollowResponse;
+import app.exception.FollowAlreadyExistsException;
+import app.exception.FollowNotFoundException;
+import app.exception.UserNotFoundException;
+import app.model.GlobalUsers;
+import app.service.FollowService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/user/{userId}/follow")
+public class FollowController {
+
+    private final FollowService followService;
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<FollowResponse>> followUser(
+            @PathVariable UUID userId,
+            @AuthenticationPrincipal GlobalUserDetails globalUserDetails) {
+        GlobalUsers currentUser = globalUserDetails.getUser();
+        FollowResponse followResponse = followService.followUser(userId, currentUser);
+        return ResponseEntity.ok(ApiResponse.success(followResponse));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<ApiResponse<FollowResponse>> unfollowUser(
+            @PathVariable UUID userId,
+            @AuthenticationPrincipal GlobalUserDetails globalUserDetails) {
+        GlobalUsers currentUser = globalUserDetails.getUser();
+        FollowResponse followResponse = followService.unfollowUser(userId, currentUser);
+        return ResponseEntity.ok(ApiResponse.success(followResponse));
+    }
+
+    @ExceptionHandler(UserNotFoundException.class)
+    public ResponseEntity<ApiErrorResponse> handleUserNotFoundException(UserNotFoundException ex) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(ApiErrorResponse.failed(ex.getMessage()));
+    }
+
+    @ExceptionHandler(FollowAlreadyExistsException.class)
+    public ResponseEntity<ApiErrorResponse> handleFollowAlreadyExistsException(FollowAlreadyExistsException ex) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ApiErrorResponse.failed(ex.getMessage()));
+    }
+
+    @ExceptionHandler(FollowNotFoundException.class)
+    public ResponseEntity<ApiErrorResponse> handleFollowNotFoundException(FollowNotFoundException ex) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(ApiErrorResponse.failed(ex.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ApiErrorResponse.failed(ex.getMessage()));
+    }
+}
@@ -4,20 +4,29 @@ import app.apidto.ApiErrorResponse;
 import app.apidto.ApiResponse;
 import app.config.GlobalUserDetails;
 import app.dto.PostResponse;
+import app.dto.TrendingPostResponse;
 import app.exception.PostNotFoundException;
 import app.exception.UnauthorizedException;
+import app.exception.UploadCapacityExceededException;
+import app.exception.UploadTooLargeException;
 import app.model.GlobalPost;
 import app.model.GlobalUsers;
 import app.service.ImageUploadService;
+import app.service.LivePostCounters;
+import app.service.PostResponseCache;
 import app.service.PostService;
+import app.service.TrendingPostsEngine;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -27,6 +36,8 @@ public class PostController {
 
     private final PostService postService;
     private final ImageUploadService imageUploadService;
+    private final TrendingPostsEngine trendingPostsEngine;
+    private final LivePostCounters livePostCounters;
 
     /**
      * Create post with image upload
@@ -36,11 +47,12 @@ public class PostController {
             @RequestParam("file") MultipartFile file,
             @AuthenticationPrincipal GlobalUserDetails globalUserDetails) throws IOException {
 
-        GlobalUsers currentUser = globalUserDetails.getUser();
-
-        // Upload image to Cloudinary
+        // Upload image to Cloudinary before touching the database: with open-in-view, the first
+        // query pins a pooled connection to the request, which must not be held across the upload
         String imageUrl = imageUploadService.uploadImage(file, "posts");
 
+        GlobalUsers currentUser = globalUserDetails.getUser();
+
         // Create post with the image URL
         GlobalPost createdPost = postService.createPost(currentUser, imageUrl);
         PostResponse postResponse = postService.mapPostToResponse(createdPost);
@@ -48,14 +60,40 @@ public class PostController {
         return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(postResponse));
     }
 
+    /**
+     * Get the currently trending posts, highest score first (served from memory, refreshed every few seconds)
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<ApiResponse<List<TrendingPostResponse>>> getTrendingPosts(
+            @RequestParam(defaultValue = "20") int limit) {
+        int maxLimit = trendingPostsEngine.maxResults();
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+        return ResponseEntity.ok(ApiResponse.success(trendingPostsEngine.top(limit)));
+    }
+
     /**
      * Get post by ID
      */
     @GetMapping("/{postId}")
-    public ResponseEntity<ApiResponse<PostResponse>> getPost(@PathVariable UUID postId) {
-        GlobalPost post = postService.getPostById(postId);
-        PostResponse postResponse = postService.mapPostToResponse(post);
-        return ResponseEntity.ok(ApiResponse.success(postResponse));
+    public ResponseEntity<ApiResponse<PostResponse>> getPost(@PathVariable UUID postId, WebRequest webRequest) {
+        // If-None-Match is checked against the cached or version-only ETag before any mapping
+        if (webRequest.checkNotModified(postService.getPostEtag(postId))) {
+            return null; // 304 Not Modified, already written
+        }
+        PostResponseCache.Entry post = postService.getPostResponse(postId);
+        return ResponseEntity.ok()
+                .eTag(post.etag())
+                .body(ApiResponse.success(post.response()));
+    }
+
+    /**
+     * Stream a post's like/comment counters as Server-Sent Events (coalesced, see LivePostCounters)
+     */
+    @GetMapping("/{postId}/live")
+    public SseEmitter streamPostCounters(@PathVariable UUID postId) {
+        return livePostCounters.subscribe(postId);
     }
 
     /**
@@ -67,11 +105,11 @@ public class PostController {
             @RequestParam("file") MultipartFile file,
             @AuthenticationPrincipal GlobalUserDetails globalUserDetails) throws IOException {
 
-        GlobalUsers currentUser = globalUserDetails.getUser();
-
-        // Upload new image
+        // Upload new image (first, for the same reason as in createPostWithImage)
         String imageUrl = imageUploadService.uploadImage(file, "posts");
 
+        GlobalUsers currentUser = globalUserDetails.getUser();
+
         // Update post
         GlobalPost updatedPost = postService.updatePost(postId, currentUser, imageUrl);
         PostResponse postResponse = postService.mapPostToResponse(updatedPost);
@@ -112,4 +150,19 @@ public class PostController {
                 .status(HttpStatus.BAD_REQUEST)
                 .body(ApiErrorResponse.failed(ex.getMessage()));
     }
+
+    @ExceptionHandler(UploadTooLargeException.class)
+    public ResponseEntity<ApiErrorResponse> handleUploadTooLargeException(UploadTooLargeException ex) {
+        return ResponseEntity
+                .status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .body(ApiErrorResponse.failed(ex.getMessage()));
+    }
+
+    @ExceptionHandler(UploadCapacityExceededException.class)
+    public ResponseEntity<ApiErrorResponse> handleUploadCapacityExceededException(UploadCapacityExceededException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(ApiErrorResponse.failed(ex.getMessage()));
+    }
 }
@@ -0,0 +1,46 @@
+package app.controller;
+
+import app.apidto.ApiErrorResponse;
+import app.apidto.ApiResponse;
+import app.config.GlobalUserDetails;
+import app.dto.CursorPageResponse;
+import app.dto.PostResponse;
+import app.service.TimelineService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/timeline")
+public class TimelineController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final TimelineService timelineService;
+
+    /**
+     * Get the authenticated user's home timeline (own posts and posts of followed users), newest first
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<CursorPageResponse<PostResponse>>> getHomeTimeline(
+            @AuthenticationPrincipal GlobalUserDetails globalUserDetails,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        CursorPageResponse<PostResponse> page =
+                timelineService.getHomeTimeline(globalUserDetails.getUserId(), cursor, limit);
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ApiErrorResponse.failed(ex.getMessage()));
+    }
+}
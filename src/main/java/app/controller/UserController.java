@@ -8,6 +8,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import app.config.GlobalUserDetails;
 import app.apidto.ApiErrorResponse;
@@ -16,6 +17,8 @@ import app.dto.UserInfoRequest;
 import app.dto.UserResponse;
 import app.exception.UserAlreadyExistsException;
 import app.exception.UserNotFoundException;
+import app.exception.UploadCapacityExceededException;
+import app.exception.UploadTooLargeException;
 import app.model.GlobalUsers;
 import app.service.UserService;
 import org.springframework.web.multipart.MultipartFile;
@@ -44,14 +47,22 @@ public class UserController {
      */
     @GetMapping("/me")
     public ResponseEntity<ApiResponse<UserResponse>> getUserInfo(
-            @AuthenticationPrincipal GlobalUserDetails globalUserDetails) {
+            @AuthenticationPrincipal GlobalUserDetails globalUserDetails,
+            WebRequest webRequest) {
+
+        // Version-only lookup first: an unchanged profile is answered without loading the user
+        if (webRequest.checkNotModified(userService.getUserEtag(globalUserDetails.getUserId()))) {
+            return null; // 304 Not Modified, already written
+        }
 
         GlobalUsers user = globalUserDetails.getUser();
 
         UserResponse userResponse = userService.mapUserToResponse(user);
 
         // Wrap the response in the standardized API structure
-        return ResponseEntity.ok(ApiResponse.success(userResponse));
+        return ResponseEntity.ok()
+                .eTag(userService.getUserEtag(user))
+                .body(ApiResponse.success(userResponse));
     }
 
     /**
@@ -87,7 +98,7 @@ public class UserController {
     public ResponseEntity<ApiResponse<Object>> deleteAccount(
             @AuthenticationPrincipal GlobalUserDetails globalUserDetails) {
 
-        UUID userId = globalUserDetails.getUser().getId();
+        UUID userId = globalUserDetails.getUserId();
 
         userService.deleteUser(userId);
 
@@ -101,12 +112,12 @@ public class UserController {
             @RequestParam("file") MultipartFile file,
             @AuthenticationPrincipal GlobalUserDetails globalUserDetails) throws IOException {
 
-        GlobalUsers user = globalUserDetails.getUser();
-
-        // Upload to Cloudinary
+        // Upload to Cloudinary before the first query, so no pooled connection is held across it
         String imageUrl = imageUploadService.uploadImage(file, "profile-pictures");
 
-        // Update user's profile picture
+        GlobalUsers user = globalUserDetails.getUser();
+
+        // Update user's profile picture (also evicts the cached principal)
         user.setProfilePicture(imageUrl);
         userService.updateUserInfo(user, new UserInfoRequest());
 
@@ -130,4 +141,19 @@ public class UserController {
                 .status(HttpStatus.CONFLICT)
                 .body(ApiErrorResponse.failed(ex.getMessage()));
     }
+
+    @ExceptionHandler(UploadTooLargeException.class)
+    public ResponseEntity<ApiErrorResponse> handleUploadTooLargeException(UploadTooLargeException ex) {
+        return ResponseEntity
+                .status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .body(ApiErrorResponse.failed(ex.getMessage()));
+    }
+
+    @ExceptionHandler(UploadCapacityExceededException.class)
+    public ResponseEntity<ApiErrorResponse> handleUploadCapacityExceededException(UploadCapacityExceededException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(ApiErrorResponse.failed(ex.getMessage()));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package app.controller;
+
+import app.apidto.ApiErrorResponse;
+import app.apidto.ApiResponse;
+import app.dto.UserSearchResult;
+import app.service.UserSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/users")
+public class UserSearchController {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final UserSearchIndex userSearchIndex;
+
+    /**
+     * Search users by username or name prefix (autocomplete, @mentions).
+     * Served from memory; exact and shorter matches come first.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<UserSearchResult>>> searchUsers(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (prefix.isBlank()) {
+            throw new IllegalArgumentException("prefix must not be blank");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return ResponseEntity.ok(ApiResponse.success(userSearchIndex.search(prefix, limit)));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ApiErrorResponse.failed(ex.getMessage()));
+    }
+}
@@ -0,0 +1,26 @@
+package app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of one batch sub-operation, in the same shape as a standalone response plus its HTTP status.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResponse {
+    private String status;   // "success" or "failed"
+    private int code;        // HTTP status the standalone endpoint would have returned
+    private Object data;
+    private String message;  // Error message, null on success
+
+    public static BatchItemResponse success(Object data) {
+        return new BatchItemResponse("success", 200, data, null);
+    }
+
+    public static BatchItemResponse failed(int code, String message) {
+        return new BatchItemResponse("failed", code, null, message);
+    }
+}
@@ -0,0 +1,22 @@
+package app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * One sub-operation of POST /api/batch. Which fields are used depends on {@code op}
+ * (see BatchService); identical operations in one batch are executed once.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOperation {
+    private String op;       // e.g. "post.get", "post.comments", "user.me"
+    private UUID postId;
+    private UUID userId;
+    private String cursor;   // post.comments only
+    private Integer limit;   // post.comments only, default 20
+}
@@ -0,0 +1,18 @@
+package app.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRequest {
+    @NotEmpty(message = "operations cannot be empty")
+    private List<@Valid @NotNull(message = "operation cannot be null") BatchOperation> operations;
+}
@@ -1,5 +1,6 @@
 package app.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import java.time.Instant;
@@ -17,4 +18,6 @@ public class PostResponse {
     private long commentCount;
     private Instant createdAt;
     private Instant editedAt;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean likedByMe; // Only filled on feed and timeline pages
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingPostResponse {
+    private UUID postId;
+    private double score;       // Weighted engagement, decayed by age
+    private long engagement;    // Weighted engagement inside the window, without decay
+}
@@ -0,0 +1,9 @@
+package app.event;
+
+import java.util.UUID;
+
+/**
+ * Published by AccountPurgeService when an account is soft deleted; delivered to listeners after commit.
+ */
+public record AccountDeletedEvent(UUID userId) {
+}
@@ -0,0 +1,9 @@
+package app.event;
+
+import java.util.UUID;
+
+/**
+ * Published by PostService when a post is created; delivered to listeners after commit.
+ */
+public record PostCreatedEvent(UUID postId, UUID ownerId) {
+}
@@ -0,0 +1,9 @@
+package app.event;
+
+import java.util.UUID;
+
+/**
+ * Published by PostService when a post is soft deleted; delivered to listeners after commit.
+ */
+public record PostDeletedEvent(UUID postId, UUID ownerId) {
+}
@@ -0,0 +1,14 @@
+package app.event;
+
+import java.util.UUID;
+
+/**
+ * Published by LikeService and CommentService for every like, unlike, comment and comment deletion;
+ * delivered to listeners after commit.
+ */
+public record PostEngagementEvent(UUID postId, Type type) {
+
+    public enum Type {
+        LIKE, UNLIKE, COMMENT, UNCOMMENT
+    }
+}
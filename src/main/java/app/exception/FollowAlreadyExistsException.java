@@ -0,0 +1,7 @@
+package app.exception;
+
+public class FollowAlreadyExistsException extends RuntimeException {
+    public FollowAlreadyExistsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package app.exception;
+
+public class FollowNotFoundException extends RuntimeException {
+    public FollowNotFoundException(String message) {
+        super(message);
+    }
+}
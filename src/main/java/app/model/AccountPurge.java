@@ -0,0 +1,88 @@
+package app.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Progress of the background purge of one deleted account (see AccountPurgeService).
+ * The row is updated in the same transaction as every chunk it records, so after a crash
+ * the purge resumes from the last committed chunk.
+ */
+@Entity
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "account_purges", indexes = {
+        @Index(name = "idx_purge_completed_requested", columnList = "completed_at, requested_at")
+})
+public class AccountPurge {
+
+    /**
+     * Phases run in declaration order; each one ends with the first chunk that is not full.
+     * POSTS runs first, so the account's posts leave feeds, timelines and trending as soon as possible.
+     */
+    public enum Phase {
+        POSTS, LIKES, COMMENTS, FOLLOWING, FOLLOWERS, TIMELINE, DONE;
+
+        public Phase next() {
+            return this == DONE ? DONE : values()[ordinal() + 1];
+        }
+    }
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId; // The soft-deleted account
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Phase phase = Phase.POSTS;
+
+    // Highest primary key handled in the current phase; chunks continue after it
+    @Column(nullable = false)
+    private UUID cursorId = new UUID(0L, 0L);
+
+    @Column(name = "requested_at", nullable = false, updatable = false)
+    private Instant requestedAt;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    @Column(name = "completed_at", nullable = true)
+    private Instant completedAt;
+
+    // Rows handled so far, per phase
+    @Column(nullable = false)
+    private long likesRemoved = 0;
+
+    @Column(nullable = false)
+    private long commentsDeleted = 0;
+
+    @Column(nullable = false)
+    private long postsDeleted = 0;
+
+    @Column(nullable = false)
+    private long followsRemoved = 0;
+
+    @Column(nullable = false)
+    private long timelineEntriesRemoved = 0;
+
+    public AccountPurge(UUID userId) {
+        this.userId = userId;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        requestedAt = Instant.now();
+        updatedAt = requestedAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = Instant.now();
+    }
+}
@@ -19,14 +19,15 @@ import java.util.UUID;
 @Table(name = "global_comments", indexes = {
         @Index(name = "idx_post_id", columnList = "post_id"),
         @Index(name = "idx_user_id", columnList = "user_id"),
-        @Index(name = "idx_created_at", columnList = "created_at")
+        @Index(name = "idx_created_at", columnList = "created_at"), // Trending rebuild scans the last window
+        @Index(name = "idx_post_created_at_id", columnList = "post_id, created_at, id") // Keyset pages per post
 })
 public class GlobalComment {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalComment.class);
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id // Time-ordered, stored as BINARY(16)
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,53 @@
+package app.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "global_follows", indexes = {
+        @Index(name = "idx_followee_id", columnList = "followee_id")
+}, uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"follower_id", "followee_id"}, name = "uk_follower_followee")
+})
+public class GlobalFollow {
+
+    private static final Logger logger = LoggerFactory.getLogger(GlobalFollow.class);
+
+    @Id
+    @UuidV7Id // Time-ordered, stored as BINARY(16)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "follower_id", nullable = false)
+    private GlobalUsers follower; // Who follows
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "followee_id", nullable = false)
+    private GlobalUsers followee; // Who is being followed
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private Instant followedAt;
+
+    // Constructor
+    public GlobalFollow(GlobalUsers follower, GlobalUsers followee) {
+        this.follower = follower;
+        this.followee = followee;
+    }
+
+    @PostPersist
+    protected void logCreation() {
+        logger.info("Follow created: User {} follows User {}", follower.getId(), followee.getId());
+    }
+}
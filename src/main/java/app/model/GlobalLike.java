@@ -17,7 +17,9 @@ import java.util.UUID;
 @Setter
 @Table(name = "global_like", indexes = {
         @Index(name = "idx_post_id", columnList = "post_id"),
-        @Index(name = "idx_user_id", columnList = "user_id")
+        @Index(name = "idx_user_id", columnList = "user_id"),
+        @Index(name = "idx_user_post", columnList = "user_id, post_id"), // likedByMe lookups
+        @Index(name = "idx_liked_at", columnList = "liked_at") // Trending rebuild scans the last window
 }, uniqueConstraints = {
         @UniqueConstraint(columnNames = {"post_id", "user_id"}, name = "uk_post_user_like")
 })
@@ -26,7 +28,7 @@ public class GlobalLike {
     private static final Logger logger = LoggerFactory.getLogger(GlobalLike.class);
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id // Time-ordered, stored as BINARY(16)
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -17,8 +17,8 @@ import java.util.UUID;
 @Getter
 @Setter
 @Table(name = "global_posts", indexes = {
-        @Index(name = "idx_post_owner", columnList = "post_owner"),
-        @Index(name = "idx_created_at", columnList = "created_at")
+        @Index(name = "idx_owner_created_at_id", columnList = "post_owner, created_at, id"),
+        @Index(name = "idx_feed_created_at_id", columnList = "created_at, id")
 })
 @Where(clause = "is_deleted = false")
 public class GlobalPost {
@@ -26,7 +26,7 @@ public class GlobalPost {
     private static final Logger logger = LoggerFactory.getLogger(GlobalPost.class);
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id // Time-ordered, stored as BINARY(16)
     private UUID id;
 
     @Column(nullable = false, unique = true, columnDefinition = "TEXT", length = 500)
@@ -45,6 +45,14 @@ public class GlobalPost {
     @Column(nullable = false)
     private boolean isDeleted = false;
 
+    // Denormalized counters. Never written through the entity (updatable = false) so a post
+    // save cannot clobber them; they are only changed by the atomic UPDATEs in GlobalPostRepository.
+    @Column(nullable = false, updatable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private long likeCount = 0;
+
+    @Column(nullable = false, updatable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private long commentCount = 0;
+
     @Version
     private Long version; // Optimistic locking
 
@@ -0,0 +1,30 @@
+package app.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * One post materialized into one user's home timeline (fan-out-on-write).
+ * Rows are written in bulk by GlobalTimelineRepository and hold plain IDs rather than
+ * associations, so deleting posts or users never has to wait on this table.
+ */
+@Entity
+@NoArgsConstructor
+@Getter
+@Table(name = "global_timeline", indexes = {
+        @Index(name = "idx_timeline_user_recent", columnList = "user_id, post_created_at, post_id"), // Timeline pages
+        @Index(name = "idx_timeline_post_id", columnList = "post_id"),
+        @Index(name = "idx_timeline_user_author", columnList = "user_id, author_id"),
+        @Index(name = "idx_timeline_created_at", columnList = "post_created_at")
+})
+public class GlobalTimelineEntry {
+
+    @EmbeddedId
+    private TimelineEntryId id;
+
+    @Column(name = "author_id", nullable = false)
+    private UUID authorId;
+}
@@ -18,20 +18,27 @@ import java.util.UUID;
 @Table(name = "global_users", indexes = {
         @Index(name = "idx_username", columnList = "username"),
         @Index(name = "idx_email", columnList = "email")
+}, uniqueConstraints = {
+        // Named so AuthService can tell which one a duplicate insert violated
+        @UniqueConstraint(name = GlobalUsers.UK_USERNAME, columnNames = "username"),
+        @UniqueConstraint(name = GlobalUsers.UK_EMAIL, columnNames = "email")
 })
 @Where(clause = "is_deleted = false")
 public class GlobalUsers {
 
+    public static final String UK_USERNAME = "uk_username";
+    public static final String UK_EMAIL = "uk_email";
+
     private static final Logger logger = LoggerFactory.getLogger(GlobalUsers.class);
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id // Time-ordered, stored as BINARY(16)
     private UUID id;
 
-    @Column(nullable = false, unique = true, name = "username")
+    @Column(nullable = false, name = "username")
     private String username;
 
-    @Column(nullable = false, unique = true, name = "email")
+    @Column(nullable = false, name = "email")
     private String email;
 
     @Column(nullable = false)
@@ -58,6 +65,10 @@ public class GlobalUsers {
     @Column(nullable = false)
     private boolean isDeleted = false;
 
+    // Denormalized, maintained only by the atomic UPDATEs in GlobalUsersRepository
+    @Column(nullable = false, updatable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private long followerCount = 0;
+
     @Version
     private Long version; // Optimistic locking for concurrent updates
 
@@ -107,6 +118,13 @@ public class GlobalUsers {
 
     // Business logic methods
     public String getFullName() {
+        return formatFullName(firstName, middleName, lastName);
+    }
+
+    /**
+     * Display name as getFullName() builds it, for callers that only have the name columns (projections)
+     */
+    public static String formatFullName(String firstName, String middleName, String lastName) {
         String displayFirstName = capitalizeNamePart(firstName);
         String displayLastName = capitalizeNamePart(lastName);
 
@@ -118,7 +136,7 @@ public class GlobalUsers {
         return displayFirstName + " " + displayLastName;
     }
 
-    private String capitalizeNamePart(String name) {
+    private static String capitalizeNamePart(String name) {
         if (name == null || name.trim().isEmpty()) {
             return "";
         }
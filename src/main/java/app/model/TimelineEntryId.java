@@ -0,0 +1,34 @@
+package app.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Primary key of a timeline entry. Hibernate orders embedded-id columns alphabetically in the
+ * generated primary key, so reads go through the explicit idx_timeline_user_recent index instead
+ * (see GlobalTimelineEntry).
+ */
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@EqualsAndHashCode
+public class TimelineEntryId implements Serializable {
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId; // Owner of the timeline
+
+    @Column(name = "post_created_at", nullable = false)
+    private Instant postCreatedAt;
+
+    @Column(name = "post_id", nullable = false)
+    private UUID postId;
+}
@@ -0,0 +1,28 @@
+package app.repository;
+
+import app.model.AccountPurge;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface AccountPurgeRepository extends JpaRepository<AccountPurge, UUID> {
+
+    // Unfinished purges, oldest first
+    @Query("SELECT p.userId FROM AccountPurge p WHERE p.completedAt IS NULL ORDER BY p.requestedAt")
+    List<UUID> findPendingUserIds(Pageable pageable);
+
+    long countByCompletedAtIsNull();
+
+    // Row lock held for one chunk, so two workers never process the same purge concurrently
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM AccountPurge p WHERE p.userId = ?1")
+    Optional<AccountPurge> findForUpdate(UUID userId);
+}
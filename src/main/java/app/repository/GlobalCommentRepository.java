@@ -4,8 +4,12 @@ import app.model.GlobalComment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
@@ -19,4 +23,47 @@ public interface GlobalCommentRepository extends JpaRepository<GlobalComment, UU
 
     // Find all comments by a user
     Page<GlobalComment> findByUserId(UUID userId, Pageable pageable);
+
+    // --- Comment listing: one statement per page, author columns projected, no COUNT ---
+
+    // All columns are null on the single row returned for a post without (further) comments
+    interface CommentRow {
+        UUID getId();
+        String getComment();
+        Instant getCreatedAt();
+        Instant getEditedAt();
+        String getUsername();
+        String getFirstName();
+        String getMiddleName();
+        String getLastName();
+        String getProfilePicture();
+    }
+
+    // Driven from the post, so a missing or deleted post returns no rows at all
+    String COMMENT_PAGE_FROM = "SELECT c.id AS id, c.comment AS comment, c.createdAt AS createdAt, c.editedAt AS editedAt, " +
+            "u.username AS username, u.firstName AS firstName, u.middleName AS middleName, " +
+            "u.lastName AS lastName, u.profilePicture AS profilePicture " +
+            "FROM GlobalPost p LEFT JOIN GlobalComment c ON c.post = p AND c.isDeleted = false ";
+    String COMMENT_PAGE_ORDER = "LEFT JOIN c.user u WHERE p.id = ?1 ORDER BY c.createdAt DESC, c.id DESC";
+
+    @Query(COMMENT_PAGE_FROM + COMMENT_PAGE_ORDER)
+    List<CommentRow> findCommentPage(UUID postId, Pageable pageable);
+
+    @Query(COMMENT_PAGE_FROM + "AND (c.createdAt < ?2 OR (c.createdAt = ?2 AND c.id < ?3)) " + COMMENT_PAGE_ORDER)
+    List<CommentRow> findCommentPageAfter(UUID postId, Instant createdAt, UUID id, Pageable pageable);
+
+    // --- Account purge: chunked by primary key (AccountPurgeService) ---
+
+    interface CommentRef {
+        UUID getId();
+        UUID getPostId();
+    }
+
+    @Query("SELECT c.id AS id, c.post.id AS postId FROM GlobalComment c " +
+            "WHERE c.user.id = ?1 AND c.id > ?2 AND c.isDeleted = false ORDER BY c.id")
+    List<CommentRef> findRefsByUserIdAfter(UUID userId, UUID afterId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE GlobalComment c SET c.isDeleted = true WHERE c.id IN ?1 AND c.isDeleted = false")
+    int softDeleteByIdIn(List<UUID> ids);
 }
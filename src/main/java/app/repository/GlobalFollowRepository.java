@@ -0,0 +1,45 @@
+package app.repository;
+
+import app.model.GlobalFollow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface GlobalFollowRepository extends JpaRepository<GlobalFollow, UUID> {
+
+    // Check if a user already follows another
+    boolean existsByFollowerIdAndFolloweeId(UUID followerId, UUID followeeId);
+
+    // Find follow by follower and followee
+    Optional<GlobalFollow> findByFollowerIdAndFolloweeId(UUID followerId, UUID followeeId);
+
+    // Followed accounts that are too large for fan-out-on-write (merged in at read time)
+    @Query("SELECT f.followee.id FROM GlobalFollow f WHERE f.follower.id = ?1 AND f.followee.followerCount >= ?2")
+    List<UUID> findFolloweeIdsWithFollowersAtLeast(UUID followerId, long followerThreshold);
+
+    // --- Account purge: chunked by primary key (AccountPurgeService) ---
+
+    // Edges the user follows; getUserId() is the followee
+    interface FollowRef {
+        UUID getId();
+        UUID getUserId();
+    }
+
+    @Query("SELECT f.id AS id, f.followee.id AS userId FROM GlobalFollow f " +
+            "WHERE f.follower.id = ?1 AND f.id > ?2 ORDER BY f.id")
+    List<FollowRef> findFollowingRefsAfter(UUID followerId, UUID afterId, Pageable pageable);
+
+    @Query("SELECT f.id FROM GlobalFollow f WHERE f.followee.id = ?1 AND f.id > ?2 ORDER BY f.id")
+    List<UUID> findFollowerEdgeIdsAfter(UUID followeeId, UUID afterId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM GlobalFollow f WHERE f.id IN ?1")
+    int deleteByIdIn(List<UUID> ids);
+}
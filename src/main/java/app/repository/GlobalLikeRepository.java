@@ -1,9 +1,14 @@
 package app.repository;
 
 import app.model.GlobalLike;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -21,4 +26,26 @@ public interface GlobalLikeRepository extends JpaRepository<GlobalLike, UUID> {
 
     // Delete like by post and user
     void deleteByPostIdAndUserId(UUID postId, UUID userId);
-}
\ No newline at end of file
+
+    // --- likedByMe (LikedPostsCache): both served by idx_user_post ---
+
+    @Query("SELECT l.post.id FROM GlobalLike l WHERE l.user.id = ?1 AND l.post.id >= ?2 ORDER BY l.post.id DESC")
+    List<UUID> findLikedPostIdsFrom(UUID userId, UUID fromPostId, Pageable pageable);
+
+    @Query("SELECT l.post.id FROM GlobalLike l WHERE l.user.id = ?1 AND l.post.id IN ?2")
+    List<UUID> findLikedPostIdsAmong(UUID userId, Collection<UUID> postIds);
+
+    // --- Account purge: chunked by primary key (AccountPurgeService) ---
+
+    interface LikeRef {
+        UUID getId();
+        UUID getPostId();
+    }
+
+    @Query("SELECT l.id AS id, l.post.id AS postId FROM GlobalLike l WHERE l.user.id = ?1 AND l.id > ?2 ORDER BY l.id")
+    List<LikeRef> findRefsByUserIdAfter(UUID userId, UUID afterId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM GlobalLike l WHERE l.id IN ?1")
+    int deleteByIdIn(List<UUID> ids);
+}
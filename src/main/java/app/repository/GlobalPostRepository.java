@@ -3,10 +3,15 @@ package app.repository;
 import app.model.GlobalPost;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,7 +22,8 @@ public interface GlobalPostRepository extends JpaRepository<GlobalPost, UUID> {
     // Find all posts by a specific user
     List<GlobalPost> findByPostOwnerId(UUID userId);
 
-    // Find posts by user with pagination
+    // Find posts by user with pagination (owner fetched in the same statement)
+    @EntityGraph(attributePaths = "postOwner")
     Page<GlobalPost> findByPostOwnerId(UUID userId, Pageable pageable);
 
     // Find post by ID (excluding soft deleted)
@@ -26,7 +32,112 @@ public interface GlobalPostRepository extends JpaRepository<GlobalPost, UUID> {
     // Check if content link exists
     boolean existsByContentLink(String contentLink);
 
-    // Get all non-deleted posts for feed
+    // Get all non-deleted posts for feed (owner fetched in the same statement)
+    @EntityGraph(attributePaths = "postOwner")
     @Query("SELECT p FROM GlobalPost p WHERE p.isDeleted = false ORDER BY p.createdAt DESC")
     Page<GlobalPost> findAllForFeed(Pageable pageable);
-}
\ No newline at end of file
+
+    // Keyset feed, first page. Returns a List so no COUNT query is issued.
+    @EntityGraph(attributePaths = "postOwner")
+    @Query("SELECT p FROM GlobalPost p WHERE p.isDeleted = false ORDER BY p.createdAt DESC, p.id DESC")
+    List<GlobalPost> findFeedFirstPage(Pageable pageable);
+
+    // Keyset feed, pages after the (createdAt, id) cursor; served by idx_feed_created_at_id
+    @EntityGraph(attributePaths = "postOwner")
+    @Query("SELECT p FROM GlobalPost p WHERE p.isDeleted = false " +
+            "AND (p.createdAt < ?1 OR (p.createdAt = ?1 AND p.id < ?2)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<GlobalPost> findFeedAfter(Instant createdAt, UUID id, Pageable pageable);
+
+    // Load a set of posts with their owners in one statement
+    @EntityGraph(attributePaths = "postOwner")
+    @Query("SELECT p FROM GlobalPost p WHERE p.id IN ?1")
+    List<GlobalPost> findAllWithOwnerByIdIn(Collection<UUID> ids);
+
+    // Recent posts of several owners, first page (served by idx_owner_created_at_id)
+    @EntityGraph(attributePaths = "postOwner")
+    @Query("SELECT p FROM GlobalPost p WHERE p.postOwner.id IN ?1 ORDER BY p.createdAt DESC, p.id DESC")
+    List<GlobalPost> findByOwners(Collection<UUID> ownerIds, Pageable pageable);
+
+    // Recent posts of several owners after the (createdAt, id) cursor
+    @EntityGraph(attributePaths = "postOwner")
+    @Query("SELECT p FROM GlobalPost p WHERE p.postOwner.id IN ?1 " +
+            "AND (p.createdAt < ?2 OR (p.createdAt = ?2 AND p.id < ?3)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<GlobalPost> findByOwnersAfter(Collection<UUID> ownerIds, Instant createdAt, UUID id, Pageable pageable);
+
+    // --- Denormalized counters ---
+    // Bulk UPDATEs do not touch @Version, so concurrent likes/comments never raise optimistic lock failures.
+
+    @Modifying
+    @Query("UPDATE GlobalPost p SET p.likeCount = p.likeCount + 1 WHERE p.id = ?1")
+    int incrementLikeCount(UUID postId);
+
+    @Modifying
+    @Query("UPDATE GlobalPost p SET p.likeCount = p.likeCount - 1 WHERE p.id = ?1 AND p.likeCount > 0")
+    int decrementLikeCount(UUID postId);
+
+    @Modifying
+    @Query("UPDATE GlobalPost p SET p.commentCount = p.commentCount + 1 WHERE p.id = ?1")
+    int incrementCommentCount(UUID postId);
+
+    @Modifying
+    @Query("UPDATE GlobalPost p SET p.commentCount = p.commentCount - 1 WHERE p.id = ?1 AND p.commentCount > 0")
+    int decrementCommentCount(UUID postId);
+
+    @Query("SELECT p.likeCount FROM GlobalPost p WHERE p.id = ?1")
+    Optional<Long> findLikeCountById(UUID postId);
+
+    @Query("SELECT p.commentCount FROM GlobalPost p WHERE p.id = ?1")
+    Optional<Long> findCommentCountById(UUID postId);
+
+    // Counters of many posts in one statement (live counter broadcasts)
+    interface CounterRow {
+        UUID getId();
+        long getLikeCount();
+        long getCommentCount();
+    }
+
+    @Query("SELECT p.id AS id, p.likeCount AS likeCount, p.commentCount AS commentCount FROM GlobalPost p WHERE p.id IN ?1")
+    List<CounterRow> findCountersByIdIn(Collection<UUID> postIds);
+
+    // Everything a post response's ETag depends on, without loading the post or its owner
+    interface PostVersion {
+        Long getVersion();
+        Long getOwnerVersion();
+        long getLikeCount();
+        long getCommentCount();
+    }
+
+    @Query("SELECT p.version AS version, o.version AS ownerVersion, p.likeCount AS likeCount, p.commentCount AS commentCount " +
+            "FROM GlobalPost p JOIN p.postOwner o WHERE p.id = ?1")
+    Optional<PostVersion> findVersionById(UUID postId);
+
+    // --- Counter reconciliation (chunked by primary key) ---
+
+    @Query("SELECT p.id FROM GlobalPost p WHERE p.id > ?1 ORDER BY p.id")
+    List<UUID> findIdsAfter(UUID afterId, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE GlobalPost p SET p.likeCount = (SELECT COUNT(l) FROM GlobalLike l WHERE l.post.id = p.id) " +
+            "WHERE p.id IN ?1 AND p.likeCount <> (SELECT COUNT(l2) FROM GlobalLike l2 WHERE l2.post.id = p.id)")
+    int reconcileLikeCounts(List<UUID> postIds);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE GlobalPost p SET p.commentCount = " +
+            "(SELECT COUNT(c) FROM GlobalComment c WHERE c.post.id = p.id AND c.isDeleted = false) " +
+            "WHERE p.id IN ?1 AND p.commentCount <> " +
+            "(SELECT COUNT(c2) FROM GlobalComment c2 WHERE c2.post.id = p.id AND c2.isDeleted = false)")
+    int reconcileCommentCounts(List<UUID> postIds);
+
+    // --- Account purge: chunked by primary key (AccountPurgeService) ---
+
+    @Query("SELECT p.id FROM GlobalPost p WHERE p.postOwner.id = ?1 AND p.id > ?2 ORDER BY p.id")
+    List<UUID> findIdsByOwnerAfter(UUID ownerId, UUID afterId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE GlobalPost p SET p.isDeleted = true WHERE p.id IN ?1")
+    int softDeleteByIdIn(List<UUID> postIds);
+}
@@ -0,0 +1,75 @@
+package app.repository;
+
+import app.model.GlobalTimelineEntry;
+import app.model.TimelineEntryId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface GlobalTimelineRepository extends JpaRepository<GlobalTimelineEntry, TimelineEntryId> {
+
+    // --- Reads: range scans on idx_timeline_user_recent (user_id, post_created_at, post_id) ---
+
+    @Query("SELECT t.id.postId FROM GlobalTimelineEntry t WHERE t.id.userId = ?1 " +
+            "ORDER BY t.id.postCreatedAt DESC, t.id.postId DESC")
+    List<UUID> findPostIds(UUID userId, Pageable pageable);
+
+    @Query("SELECT t.id.postId FROM GlobalTimelineEntry t WHERE t.id.userId = ?1 " +
+            "AND (t.id.postCreatedAt < ?2 OR (t.id.postCreatedAt = ?2 AND t.id.postId < ?3)) " +
+            "ORDER BY t.id.postCreatedAt DESC, t.id.postId DESC")
+    List<UUID> findPostIdsAfter(UUID userId, Instant createdAt, UUID postId, Pageable pageable);
+
+    // --- Fan-out writes: one INSERT ... SELECT each, idempotent so retries are harmless ---
+
+    // Copy a post into the timeline of every follower of its owner
+    @Modifying
+    @Query("INSERT INTO GlobalTimelineEntry (id.userId, id.postCreatedAt, id.postId, authorId) " +
+            "SELECT f.follower.id, p.createdAt, p.id, p.postOwner.id " +
+            "FROM GlobalPost p JOIN GlobalFollow f ON f.followee = p.postOwner WHERE p.id = ?1 " +
+            "ON CONFLICT DO NOTHING")
+    int fanOutToFollowers(UUID postId);
+
+    // Copy a post into its owner's own timeline
+    @Modifying
+    @Query("INSERT INTO GlobalTimelineEntry (id.userId, id.postCreatedAt, id.postId, authorId) " +
+            "SELECT p.postOwner.id, p.createdAt, p.id, p.postOwner.id FROM GlobalPost p WHERE p.id = ?1 " +
+            "ON CONFLICT DO NOTHING")
+    int insertForOwner(UUID postId);
+
+    // Backfill an author's recent posts into a new follower's timeline
+    @Modifying
+    @Query("INSERT INTO GlobalTimelineEntry (id.userId, id.postCreatedAt, id.postId, authorId) " +
+            "SELECT ?1, p.createdAt, p.id, p.postOwner.id FROM GlobalPost p " +
+            "WHERE p.postOwner.id = ?2 AND p.createdAt > ?3 " +
+            "ON CONFLICT DO NOTHING")
+    int backfillFromAuthor(UUID userId, UUID authorId, Instant since);
+
+    // --- Retraction and trimming ---
+
+    @Modifying
+    @Query("DELETE FROM GlobalTimelineEntry t WHERE t.id.postId = ?1")
+    int deleteByPostId(UUID postId);
+
+    @Modifying
+    @Query("DELETE FROM GlobalTimelineEntry t WHERE t.id.postId IN ?1")
+    int deleteByPostIdIn(List<UUID> postIds);
+
+    @Modifying
+    @Query("DELETE FROM GlobalTimelineEntry t WHERE t.id.userId = ?1 AND t.id.postId IN ?2")
+    int deleteByUserIdAndPostIdIn(UUID userId, List<UUID> postIds);
+
+    @Modifying
+    @Query("DELETE FROM GlobalTimelineEntry t WHERE t.id.userId = ?1 AND t.authorId = ?2")
+    int deleteByUserIdAndAuthorId(UUID userId, UUID authorId);
+
+    @Modifying
+    @Query("DELETE FROM GlobalTimelineEntry t WHERE t.id.postCreatedAt < ?1")
+    int deleteOlderThan(Instant cutoff);
+}
@@ -1,11 +1,14 @@
 package app.repository;
 
 import lombok.NonNull;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import app.model.GlobalUsers;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -27,4 +30,41 @@ public interface GlobalUsersRepository extends JpaRepository<GlobalUsers, UUID>
     Optional<GlobalUsers> findById(@NonNull UUID id);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    // Only used by UserSearchIndex until its in-memory index has loaded
+    List<GlobalUsers> findByUsernameStartingWithOrderByUsernameAsc(String prefix, Pageable pageable);
+
+    // Native, so soft-deleted accounts count too: the unique constraints still hold their values
+    @Query(value = "SELECT COUNT(*) FROM global_users WHERE username = ?1", nativeQuery = true)
+    long countByUsernameIncludingDeleted(String username);
+
+    @Query(value = "SELECT COUNT(*) FROM global_users WHERE email = ?1", nativeQuery = true)
+    long countByEmailIncludingDeleted(String email);
+
+    // Atomic follower counter updates (bypass @Version like the post counters)
+    @Modifying
+    @Query("UPDATE GlobalUsers u SET u.followerCount = u.followerCount + 1 WHERE u.id = ?1")
+    int incrementFollowerCount(UUID userId);
+
+    @Modifying
+    @Query("UPDATE GlobalUsers u SET u.followerCount = u.followerCount - 1 WHERE u.id = ?1 AND u.followerCount > 0")
+    int decrementFollowerCount(UUID userId);
+
+    // Recompute from global_follows, so repeating it (e.g. after a crash) is harmless
+    @Modifying
+    @Query("UPDATE GlobalUsers u SET u.followerCount = (SELECT COUNT(f) FROM GlobalFollow f WHERE f.followee.id = u.id) " +
+            "WHERE u.id IN ?1")
+    int reconcileFollowerCounts(List<UUID> userIds);
+
+    @Query("SELECT u.followerCount FROM GlobalUsers u WHERE u.id = ?1")
+    Optional<Long> findFollowerCountById(UUID userId);
+
+    // Version-only lookup for conditional GETs (ETags#forUser)
+    @Query("SELECT u.version FROM GlobalUsers u WHERE u.id = ?1")
+    Optional<Long> findVersionById(UUID userId);
+
+    // Compare-and-set on the old hash, so a password change made meanwhile is never overwritten
+    @Modifying
+    @Query("UPDATE GlobalUsers u SET u.password = ?3 WHERE u.id = ?1 AND u.password = ?2")
+    int replacePasswordHash(UUID userId, String expectedHash, String newHash);
 }
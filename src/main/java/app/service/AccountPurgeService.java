@@ -0,0 +1,290 @@
+package app.service;
+
+import app.event.AccountDeletedEvent;
+import app.model.AccountPurge;
+import app.model.AccountPurge.Phase;
+import app.repository.AccountPurgeRepository;
+import app.repository.GlobalCommentRepository;
+import app.repository.GlobalFollowRepository;
+import app.repository.GlobalLikeRepository;
+import app.repository.GlobalPostRepository;
+import app.repository.GlobalTimelineRepository;
+import app.repository.GlobalUsersRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Removes a deleted account's content in the background.
+ * <p>
+ * UserService soft deletes the account and calls {@link #enqueue}, which records an AccountPurge row in the
+ * same transaction. The purge then walks the account's posts (first, so they leave feeds quickly), likes,
+ * comments, follow edges and timeline in primary-key chunks ({@code accounts.purge.chunk-size}). Each chunk
+ * is one short transaction: a bulk DELETE/UPDATE by ID, a recount of the counters it touched, and the
+ * progress update on the AccountPurge row. A crash therefore loses at most the chunk in flight, and the
+ * scheduled sweep resumes every unfinished purge from its last committed cursor.
+ * <p>
+ * Counters are recomputed for the affected rows rather than decremented, so replaying a chunk is harmless.
+ */
+@Service
+public class AccountPurgeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountPurgeService.class);
+    private static final UUID LOWEST_ID = new UUID(0L, 0L);
+
+    private final AccountPurgeRepository purgeRepository;
+    private final GlobalLikeRepository likeRepository;
+    private final GlobalCommentRepository commentRepository;
+    private final GlobalPostRepository postRepository;
+    private final GlobalFollowRepository followRepository;
+    private final GlobalTimelineRepository timelineRepository;
+    private final GlobalUsersRepository usersRepository;
+    private final PostResponseCache postResponseCache;
+    private final LikeWriteBehindBuffer likeBuffer;
+    private final LikedPostsCache likedPostsCache;
+    private final TrendingPostsEngine trendingPostsEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskExecutor taskExecutor;
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong pendingPurges = new AtomicLong();
+    private final Set<UUID> running = ConcurrentHashMap.newKeySet();
+
+    @Value("${accounts.purge.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${accounts.purge.sweep-batch-size:20}")
+    private int sweepBatchSize;
+
+    public AccountPurgeService(AccountPurgeRepository purgeRepository,
+                               GlobalLikeRepository likeRepository,
+                               GlobalCommentRepository commentRepository,
+                               GlobalPostRepository postRepository,
+                               GlobalFollowRepository followRepository,
+                               GlobalTimelineRepository timelineRepository,
+                               GlobalUsersRepository usersRepository,
+                               PostResponseCache postResponseCache,
+                               LikeWriteBehindBuffer likeBuffer,
+                               LikedPostsCache likedPostsCache,
+                               TrendingPostsEngine trendingPostsEngine,
+                               TransactionTemplate transactionTemplate,
+                               ApplicationEventPublisher eventPublisher,
+                               @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                               MeterRegistry meterRegistry) {
+        this.purgeRepository = purgeRepository;
+        this.likeRepository = likeRepository;
+        this.commentRepository = commentRepository;
+        this.postRepository = postRepository;
+        this.followRepository = followRepository;
+        this.timelineRepository = timelineRepository;
+        this.usersRepository = usersRepository;
+        this.postResponseCache = postResponseCache;
+        this.likeBuffer = likeBuffer;
+        this.likedPostsCache = likedPostsCache;
+        this.trendingPostsEngine = trendingPostsEngine;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.taskExecutor = taskExecutor;
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("accounts.purge.pending", pendingPurges);
+    }
+
+    /**
+     * Queue the purge of a soft-deleted account (joins the caller's transaction)
+     */
+    @Transactional
+    public void enqueue(UUID userId) {
+        if (!purgeRepository.existsById(userId)) {
+            purgeRepository.save(new AccountPurge(userId));
+        }
+        eventPublisher.publishEvent(new AccountDeletedEvent(userId));
+    }
+
+    /**
+     * Start purging as soon as the deletion has committed
+     */
+    @Async
+    @TransactionalEventListener
+    public void onAccountDeleted(AccountDeletedEvent event) {
+        purge(event.userId());
+    }
+
+    /**
+     * Resume unfinished purges, e.g. after a restart (default: every minute). The purges themselves run
+     * on the async executor, so the shared scheduler thread is only held for the lookup.
+     */
+    @Scheduled(initialDelayString = "${accounts.purge.sweep-initial-delay-ms:30000}",
+            fixedDelayString = "${accounts.purge.sweep-interval-ms:60000}")
+    public void resumePending() {
+        pendingPurges.set(purgeRepository.countByCompletedAtIsNull());
+        for (UUID userId : purgeRepository.findPendingUserIds(PageRequest.of(0, sweepBatchSize))) {
+            if (!running.contains(userId)) {
+                taskExecutor.execute(() -> purge(userId));
+            }
+        }
+    }
+
+    /**
+     * Run a purge to completion, one chunk per transaction. A purge already running on this instance
+     * is not started twice.
+     */
+    public void purge(UUID userId) {
+        if (!running.add(userId)) {
+            return;
+        }
+        try {
+            Boolean more;
+            do {
+                more = transactionTemplate.execute(status -> purgeChunk(userId));
+            } while (Boolean.TRUE.equals(more));
+        } finally {
+            running.remove(userId);
+        }
+    }
+
+    /**
+     * Process one chunk of the current phase under the purge row's lock
+     * @return true if the purge has more work left
+     */
+    private boolean purgeChunk(UUID userId) {
+        AccountPurge purge = purgeRepository.findForUpdate(userId).orElse(null);
+        if (purge == null || purge.getPhase() == Phase.DONE) {
+            return false;
+        }
+
+        Phase phase = purge.getPhase();
+        UUID cursor = purge.getCursorId();
+        PageRequest chunk = PageRequest.of(0, chunkSize);
+
+        List<UUID> handled = switch (phase) {
+            case POSTS -> purgePosts(purge, cursor, chunk);
+            case LIKES -> purgeLikes(purge, cursor, chunk);
+            case COMMENTS -> purgeComments(purge, cursor, chunk);
+            case FOLLOWING -> purgeFollowing(purge, cursor, chunk);
+            case FOLLOWERS -> purgeFollowers(purge, cursor, chunk);
+            case TIMELINE -> purgeTimeline(purge, chunk);
+            case DONE -> List.of();
+        };
+        meterRegistry.counter("accounts.purge.rows", "phase", phase.name().toLowerCase()).increment(handled.size());
+
+        if (handled.size() == chunkSize) {
+            purge.setCursorId(handled.get(handled.size() - 1));
+            logger.debug("Account {} purge: {} {} handled", userId, handled.size(), phase);
+            return true;
+        }
+
+        purge.setPhase(phase.next());
+        purge.setCursorId(LOWEST_ID);
+        if (purge.getPhase() == Phase.DONE) {
+            purge.setCompletedAt(Instant.now());
+            logger.info("Account {} purged: {} likes, {} comments, {} posts, {} follows, {} timeline entries",
+                    userId, purge.getLikesRemoved(), purge.getCommentsDeleted(), purge.getPostsDeleted(),
+                    purge.getFollowsRemoved(), purge.getTimelineEntriesRemoved());
+            return false;
+        }
+        logger.info("Account {} purge: {} phase finished, starting {}", userId, phase, purge.getPhase());
+        return true;
+    }
+
+    private List<UUID> purgeLikes(AccountPurge purge, UUID cursor, PageRequest chunk) {
+        if (cursor.equals(LOWEST_ID)) {
+            // Buffered likes would be flushed after this phase and bring the rows and counts back
+            likeBuffer.discardUser(purge.getUserId());
+            likedPostsCache.evict(purge.getUserId());
+        }
+        List<GlobalLikeRepository.LikeRef> likes = likeRepository.findRefsByUserIdAfter(purge.getUserId(), cursor, chunk);
+        if (likes.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> ids = ids(likes, GlobalLikeRepository.LikeRef::getId);
+        purge.setLikesRemoved(purge.getLikesRemoved() + likeRepository.deleteByIdIn(ids));
+        recountPosts(ids(likes, GlobalLikeRepository.LikeRef::getPostId), postRepository::reconcileLikeCounts);
+        return ids;
+    }
+
+    private List<UUID> purgeComments(AccountPurge purge, UUID cursor, PageRequest chunk) {
+        List<GlobalCommentRepository.CommentRef> comments =
+                commentRepository.findRefsByUserIdAfter(purge.getUserId(), cursor, chunk);
+        if (comments.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> ids = ids(comments, GlobalCommentRepository.CommentRef::getId);
+        purge.setCommentsDeleted(purge.getCommentsDeleted() + commentRepository.softDeleteByIdIn(ids));
+        recountPosts(ids(comments, GlobalCommentRepository.CommentRef::getPostId), postRepository::reconcileCommentCounts);
+        return ids;
+    }
+
+    private List<UUID> purgePosts(AccountPurge purge, UUID cursor, PageRequest chunk) {
+        List<UUID> postIds = postRepository.findIdsByOwnerAfter(purge.getUserId(), cursor, chunk);
+        if (postIds.isEmpty()) {
+            return List.of();
+        }
+        purge.setPostsDeleted(purge.getPostsDeleted() + postRepository.softDeleteByIdIn(postIds));
+        // Retract the posts from followers' timelines in the same chunk
+        purge.setTimelineEntriesRemoved(purge.getTimelineEntriesRemoved() + timelineRepository.deleteByPostIdIn(postIds));
+        postIds.forEach(postResponseCache::evict);
+        trendingPostsEngine.remove(postIds);
+        return postIds;
+    }
+
+    private List<UUID> purgeFollowing(AccountPurge purge, UUID cursor, PageRequest chunk) {
+        List<GlobalFollowRepository.FollowRef> follows =
+                followRepository.findFollowingRefsAfter(purge.getUserId(), cursor, chunk);
+        if (follows.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> ids = ids(follows, GlobalFollowRepository.FollowRef::getId);
+        purge.setFollowsRemoved(purge.getFollowsRemoved() + followRepository.deleteByIdIn(ids));
+        usersRepository.reconcileFollowerCounts(ids(follows, GlobalFollowRepository.FollowRef::getUserId));
+        return ids;
+    }
+
+    private List<UUID> purgeFollowers(AccountPurge purge, UUID cursor, PageRequest chunk) {
+        List<UUID> ids = followRepository.findFollowerEdgeIdsAfter(purge.getUserId(), cursor, chunk);
+        if (!ids.isEmpty()) {
+            // The deleted account's own follower count no longer matters, so nothing to recount
+            purge.setFollowsRemoved(purge.getFollowsRemoved() + followRepository.deleteByIdIn(ids));
+        }
+        return ids;
+    }
+
+    private List<UUID> purgeTimeline(AccountPurge purge, PageRequest chunk) {
+        // Deleted rows drop out of the user's index range, so no cursor is needed here
+        List<UUID> postIds = timelineRepository.findPostIds(purge.getUserId(), chunk);
+        if (!postIds.isEmpty()) {
+            purge.setTimelineEntriesRemoved(purge.getTimelineEntriesRemoved()
+                    + timelineRepository.deleteByUserIdAndPostIdIn(purge.getUserId(), postIds));
+        }
+        return postIds;
+    }
+
+    private void recountPosts(List<UUID> postIds, Function<List<UUID>, Integer> reconcile) {
+        List<UUID> distinct = postIds.stream().distinct().toList();
+        reconcile.apply(distinct);
+        // Cached responses carry the counters; drop them once the recount has committed
+        distinct.forEach(postResponseCache::evict);
+    }
+
+    private static <T> List<UUID> ids(List<T> rows, Function<T, UUID> id) {
+        return rows.stream().map(id).toList();
+    }
+}
@@ -5,40 +5,45 @@ import app.dto.LoginResponse;
 import app.dto.RegisterRequest;
 import app.dto.RegisterResponse;
 import app.exception.InvalidCredentialsException;
+import app.exception.PasswordHashingUnavailableException;
 import app.exception.UserAlreadyExistsException;
 import app.model.GlobalUsers;
 import app.repository.GlobalUsersRepository;
 import app.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Locale;
+
+/**
+ * Registration and login. Not transactional as a whole: BCrypt runs on a bounded queue
+ * (PasswordHashingService), and a request waiting there must not hold a pooled connection.
+ * Each database step runs in its own short read-write transaction, on the primary.
+ */
 @Service
 @RequiredArgsConstructor
-@Transactional
 public class AuthService {
 
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
 
     private final GlobalUsersRepository globalUsersRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final GlobalUserDetailsService userDetailsService;
+    private final AvailabilityService availabilityService;
+    private final UserSearchIndex userSearchIndex;
     private final JwtUtil jwtUtil;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Register a new user
      */
     public RegisterResponse registerUser(RegisterRequest request) {
-        if (globalUsersRepository.existsByUsername(request.getUsername())) {
-            throw new UserAlreadyExistsException("Username already taken.");
-        }
-        if (globalUsersRepository.existsByEmail(request.getEmail())) {
-            throw new UserAlreadyExistsException("Email already registered.");
-        }
-
-        String hashedPassword = passwordEncoder.encode(request.getPassword());
+        String hashedPassword = passwordHashingService.hash(request.getPassword());
 
         GlobalUsers newUser = new GlobalUsers(
                 request.getUsername(),
@@ -49,7 +54,14 @@ public class AuthService {
                 request.getLastName()
         );
 
-        globalUsersRepository.save(newUser);
+        // One INSERT; the unique constraints decide whether the username / email is taken
+        try {
+            transactionTemplate.executeWithoutResult(status -> globalUsersRepository.saveAndFlush(newUser));
+        } catch (DataIntegrityViolationException e) {
+            throw toUserAlreadyExists(e, newUser);
+        }
+        availabilityService.recordTaken(newUser.getUsername(), newUser.getEmail());
+        userSearchIndex.upsert(newUser);
         logger.info("User registered: {}", request.getUsername());
         return new RegisterResponse("User registered successfully.");
     }
@@ -58,19 +70,76 @@ public class AuthService {
      * Login user and return JWT token
      */
     public LoginResponse loginUser(LoginRequest request) {
-        GlobalUsers user = globalUsersRepository.findByUsername(request.getUsername())
+        GlobalUsers user = transactionTemplate
+                .execute(status -> globalUsersRepository.findByUsername(request.getUsername()))
                 .orElseThrow(() -> new InvalidCredentialsException("Invalid username or password."));
 
         if (user.isDeleted()) {
             throw new InvalidCredentialsException("Account has been deleted.");
         }
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
             throw new InvalidCredentialsException("Invalid username or password.");
         }
 
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            rehashPassword(user, request.getPassword());
+        }
+
         String token = jwtUtil.generateToken(user.getId(), user.getUsername());
         logger.info("User logged in: {}", request.getUsername());
         return new LoginResponse(token, user.getUsername());
     }
+
+    private RuntimeException toUserAlreadyExists(DataIntegrityViolationException e, GlobalUsers newUser) {
+        // MySQL reports e.g. "Duplicate entry 'x' for key 'global_users.uk_username'"
+        String violated = String.valueOf(e.getMostSpecificCause().getMessage());
+        if (e.getCause() instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+            violated = violation.getConstraintName();
+        }
+        violated = violated.toLowerCase(Locale.ROOT);
+
+        if (violated.contains(GlobalUsers.UK_USERNAME)) {
+            return new UserAlreadyExistsException("Username already taken.");
+        }
+        if (violated.contains(GlobalUsers.UK_EMAIL)) {
+            return new UserAlreadyExistsException("Email already registered.");
+        }
+
+        // Unknown constraint name, e.g. a database created before the constraints were named
+        // (ddl-auto=update does not rename them): look up which value is taken
+        Long usernameTaken = transactionTemplate.execute(status ->
+                globalUsersRepository.countByUsernameIncludingDeleted(newUser.getUsername()));
+        if (usernameTaken != null && usernameTaken > 0) {
+            return new UserAlreadyExistsException("Username already taken.");
+        }
+        Long emailTaken = transactionTemplate.execute(status ->
+                globalUsersRepository.countByEmailIncludingDeleted(newUser.getEmail()));
+        if (emailTaken != null && emailTaken > 0) {
+            return new UserAlreadyExistsException("Email already registered.");
+        }
+        return e;
+    }
+
+    /**
+     * Upgrade a stored hash to the configured cost. Best effort: the login succeeds either way,
+     * and a saturated hashing pool just postpones the upgrade to a later login.
+     */
+    private void rehashPassword(GlobalUsers user, String rawPassword) {
+        String oldHash = user.getPassword();
+        String newHash;
+        try {
+            newHash = passwordHashingService.hash(rawPassword);
+        } catch (PasswordHashingUnavailableException e) {
+            logger.debug("Skipping password re-hash for user {}: {}", user.getId(), e.getMessage());
+            return;
+        }
+
+        Integer replaced = transactionTemplate.execute(status ->
+                globalUsersRepository.replacePasswordHash(user.getId(), oldHash, newHash));
+        if (replaced != null && replaced > 0) {
+            userDetailsService.evictUser(user.getId());
+            logger.info("Re-hashed password with the current cost for user: {}", user.getUsername());
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,129 @@
+package app.service;
+
+import app.dto.AvailabilityResponse;
+import app.repository.GlobalUsersRepository;
+import app.util.BloomFilter;
+import app.util.UuidBytes;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Answers "is this username / email free?" for signup forms, which ask on every keystroke.
+ * A Bloom filter of every taken username and email (deleted accounts included, since the unique
+ * constraints still hold their values) answers "definitely free" from memory; only a "maybe taken"
+ * goes to the database. Values are compared lower-cased, matching MySQL's case-insensitive collation.
+ * <p>
+ * The filter is loaded in the background after startup; until then every check goes to the database.
+ * It is only ever added to, so a rename leaves the old values as (harmless) false positives.
+ */
+@Service
+public class AvailabilityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityService.class);
+
+    private static final int LOAD_CHUNK_SIZE = 10_000;
+    private static final String LOAD_FIRST_CHUNK =
+            "SELECT id, username, email FROM global_users ORDER BY id LIMIT " + LOAD_CHUNK_SIZE;
+    private static final String LOAD_NEXT_CHUNK =
+            "SELECT id, username, email FROM global_users WHERE id > ? ORDER BY id LIMIT " + LOAD_CHUNK_SIZE;
+
+    private record TakenRow(UUID id, String username, String email) {
+    }
+
+    private static final RowMapper<TakenRow> TAKEN_ROW = (rs, rowNum) ->
+            new TakenRow(UuidBytes.fromBytes(rs.getBytes("id")), rs.getString("username"), rs.getString("email"));
+
+    private final GlobalUsersRepository globalUsersRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final BloomFilter takenValues;
+    private final Counter filterAnswers;
+    private final Counter databaseAnswers;
+    private volatile boolean loaded;
+
+    public AvailabilityService(GlobalUsersRepository globalUsersRepository,
+                               JdbcTemplate jdbcTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${auth.availability.expected-entries:2000000}") long expectedEntries,
+                               @Value("${auth.availability.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.globalUsersRepository = globalUsersRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.takenValues = new BloomFilter(expectedEntries, falsePositiveRate);
+        this.filterAnswers = meterRegistry.counter("auth.availability.checks", "answered_by", "filter");
+        this.databaseAnswers = meterRegistry.counter("auth.availability.checks", "answered_by", "database");
+    }
+
+    /**
+     * Load every existing username and email, in primary-key chunks so the table is never read in one go
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadTakenValues() {
+        long start = System.nanoTime();
+        long users = 0;
+        List<TakenRow> chunk = jdbcTemplate.query(LOAD_FIRST_CHUNK, TAKEN_ROW);
+        while (!chunk.isEmpty()) {
+            for (TakenRow row : chunk) {
+                takenValues.add(normalize(row.username()));
+                takenValues.add(normalize(row.email()));
+            }
+            users += chunk.size();
+            byte[] lastId = UuidBytes.toBytes(chunk.get(chunk.size() - 1).id());
+            chunk = chunk.size() < LOAD_CHUNK_SIZE
+                    ? List.of()
+                    : jdbcTemplate.query(LOAD_NEXT_CHUNK, TAKEN_ROW, (Object) lastId);
+        }
+        loaded = true;
+        logger.info("Availability filter loaded with {} users in {} ms ({} KB)",
+                users, (System.nanoTime() - start) / 1_000_000, takenValues.sizeInBytes() / 1024);
+    }
+
+    /**
+     * Mark a username and email as taken (registration, rename, email change)
+     */
+    public void recordTaken(String username, String email) {
+        if (username != null) {
+            takenValues.add(normalize(username));
+        }
+        if (email != null) {
+            takenValues.add(normalize(email));
+        }
+    }
+
+    /**
+     * Availability of the given username and/or email; a null argument is not checked
+     */
+    public AvailabilityResponse check(String username, String email) {
+        Boolean usernameAvailable = username == null ? null
+                : isAvailable(username, () -> globalUsersRepository.countByUsernameIncludingDeleted(username));
+        Boolean emailAvailable = email == null ? null
+                : isAvailable(email, () -> globalUsersRepository.countByEmailIncludingDeleted(email));
+        return new AvailabilityResponse(usernameAvailable, emailAvailable);
+    }
+
+    private boolean isAvailable(String value, LongSupplier countInDatabase) {
+        if (loaded && !takenValues.mightContain(normalize(value))) {
+            filterAnswers.increment();
+            return true;
+        }
+        databaseAnswers.increment();
+        return countInDatabase.getAsLong() == 0;
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,142 @@
+package app.service;
+
+import app.dto.BatchItemResponse;
+import app.dto.BatchOperation;
+import app.dto.UserSearchResult;
+import app.exception.CommentNotFoundException;
+import app.exception.PostNotFoundException;
+import app.exception.UnauthorizedException;
+import app.exception.UserNotFoundException;
+import app.model.GlobalUsers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Runs the read operations of {@code POST /api/batch} on the existing services.
+ * <p>
+ * All operations share one read-only transaction, so they see one consistent snapshot over one pooled
+ * connection, and one persistence context, so a post or user loaded by one operation is not selected
+ * again by the next (e.g. "post.get" then "post.author"). Identical operations are executed once.
+ * A failing operation only fails its own item; the others still run.
+ * <p>
+ * Supported operations:
+ * <ul>
+ *   <li>{@code post.get} (postId): the post, as GET /api/posts/{postId}</li>
+ *   <li>{@code post.comments} (postId, cursor, limit): a comment page, as GET /api/posts/{postId}/comments</li>
+ *   <li>{@code post.likeStatus} (postId): whether the caller liked the post, and its like count</li>
+ *   <li>{@code post.author} (postId): public profile of the post's owner</li>
+ *   <li>{@code user.get} (userId): public profile of a user</li>
+ *   <li>{@code user.me}: the caller's own profile, as GET /api/user/me</li>
+ * </ul>
+ */
+@Service
+public class BatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchService.class);
+    private static final int DEFAULT_COMMENT_LIMIT = 20;
+    private static final int MAX_COMMENT_LIMIT = 100;
+
+    private final PostService postService;
+    private final CommentService commentService;
+    private final LikeService likeService;
+    private final UserService userService;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${batch.max-operations:25}")
+    private int maxOperations;
+
+    public BatchService(PostService postService,
+                        CommentService commentService,
+                        LikeService likeService,
+                        UserService userService,
+                        PlatformTransactionManager transactionManager) {
+        this.postService = postService;
+        this.commentService = commentService;
+        this.likeService = likeService;
+        this.userService = userService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Execute the operations in order
+     * @param viewer The authenticated caller
+     * @return One result per operation, in request order
+     */
+    public List<BatchItemResponse> execute(List<BatchOperation> operations, GlobalUsers viewer) {
+        if (operations.size() > maxOperations) {
+            throw new IllegalArgumentException("A batch can contain at most " + maxOperations + " operations");
+        }
+
+        return readOnlyTransaction.execute(status -> {
+            Map<BatchOperation, BatchItemResponse> executed = new HashMap<>();
+            List<BatchItemResponse> results = new ArrayList<>(operations.size());
+            for (BatchOperation operation : operations) {
+                results.add(executed.computeIfAbsent(operation, op -> run(op, viewer)));
+            }
+            // Nothing to commit. Rolling back also keeps a failed operation, which marks the shared
+            // transaction rollback-only, from turning the whole batch into an UnexpectedRollbackException.
+            status.setRollbackOnly();
+            return results;
+        });
+    }
+
+    private BatchItemResponse run(BatchOperation operation, GlobalUsers viewer) {
+        try {
+            return BatchItemResponse.success(dispatch(operation, viewer));
+        } catch (PostNotFoundException | UserNotFoundException | CommentNotFoundException e) {
+            return BatchItemResponse.failed(HttpStatus.NOT_FOUND.value(), e.getMessage());
+        } catch (UnauthorizedException e) {
+            return BatchItemResponse.failed(HttpStatus.FORBIDDEN.value(), e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return BatchItemResponse.failed(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Batch operation {} failed", operation.getOp(), e);
+            return BatchItemResponse.failed(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Operation failed");
+        }
+    }
+
+    private Object dispatch(BatchOperation operation, GlobalUsers viewer) {
+        String op = operation.getOp() == null ? "" : operation.getOp();
+        return switch (op) {
+            case "post.get" -> postService.getPostResponse(required(operation.getPostId(), "postId")).response();
+            case "post.comments" -> commentService.getPostCommentsPage(
+                    required(operation.getPostId(), "postId"), operation.getCursor(), commentLimit(operation.getLimit()));
+            case "post.likeStatus" -> likeService.getLikeStatus(required(operation.getPostId(), "postId"), viewer.getId());
+            case "post.author" -> toPublicProfile(postService.getPostById(required(operation.getPostId(), "postId")).getPostOwner());
+            case "user.get" -> toPublicProfile(userService.findUserById(required(operation.getUserId(), "userId")));
+            case "user.me" -> userService.mapUserToResponse(viewer);
+            default -> throw new IllegalArgumentException("Unknown operation: " + op);
+        };
+    }
+
+    private static UserSearchResult toPublicProfile(GlobalUsers user) {
+        return new UserSearchResult(user.getId(), user.getUsername(), user.getFullName(), user.getProfilePicture());
+    }
+
+    private static int commentLimit(Integer limit) {
+        int value = limit == null ? DEFAULT_COMMENT_LIMIT : limit;
+        if (value < 1 || value > MAX_COMMENT_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_COMMENT_LIMIT);
+        }
+        return value;
+    }
+
+    private static UUID required(UUID value, String name) {
+        if (value == null) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        return value;
+    }
+}
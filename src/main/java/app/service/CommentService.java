@@ -2,21 +2,29 @@ package app.service;
 
 import app.dto.CommentCreateRequest;
 import app.dto.CommentResponse;
+import app.dto.CursorPageResponse;
+import app.event.PostEngagementEvent;
 import app.exception.CommentNotFoundException;
+import app.exception.PostNotFoundException;
 import app.exception.UnauthorizedException;
 import app.model.GlobalComment;
 import app.model.GlobalPost;
 import app.model.GlobalUsers;
 import app.repository.GlobalCommentRepository;
+import app.repository.GlobalCommentRepository.CommentRow;
 import app.repository.GlobalPostRepository;
+import app.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -28,6 +36,8 @@ public class CommentService {
     private final GlobalCommentRepository commentRepository;
     private final GlobalPostRepository postRepository;
     private final PostService postService;
+    private final PostResponseCache postResponseCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a comment on a post
@@ -36,6 +46,9 @@ public class CommentService {
         GlobalPost post = postService.getPostById(postId);
         GlobalComment comment = new GlobalComment(post, user, request.getComment());
         GlobalComment savedComment = commentRepository.save(comment);
+        postRepository.incrementCommentCount(postId);
+        postResponseCache.evict(postId);
+        eventPublisher.publishEvent(new PostEngagementEvent(postId, PostEngagementEvent.Type.COMMENT));
 
         logger.info("User {} commented on post {}", user.getId(), postId);
         return savedComment;
@@ -44,22 +57,54 @@ public class CommentService {
     /**
      * Get comment by ID
      */
+    @Transactional(readOnly = true)
     public GlobalComment getCommentById(UUID commentId) {
         return commentRepository.findById(commentId)
                 .orElseThrow(() -> new CommentNotFoundException("Comment not found with ID: " + commentId));
     }
 
     /**
-     * Get all comments on a post (paginated)
+     * Get one page of a post's comments, newest first, using keyset pagination on (createdAt, id).
+     * A single statement checks the post, skips deleted comments and projects the author columns,
+     * so the cost per page is constant however long the thread is.
+     * @param cursor Opaque cursor from the previous page, or null for the first page
+     * @param limit  Page size
+     * @throws PostNotFoundException if the post does not exist or is deleted
      */
-    public Page<GlobalComment> getPostComments(UUID postId, Pageable pageable) {
-        postService.getPostById(postId); // Verify post exists
-        return commentRepository.findByPostId(postId, pageable);
+    @Transactional(readOnly = true)
+    public CursorPageResponse<CommentResponse> getPostCommentsPage(UUID postId, String cursor, int limit) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        // Fetch one extra row to know whether another page exists
+        Pageable window = PageRequest.of(0, limit + 1);
+
+        List<CommentRow> rows = position == null
+                ? commentRepository.findCommentPage(postId, window)
+                : commentRepository.findCommentPageAfter(postId, position.createdAt(), position.id(), window);
+        if (rows.isEmpty()) {
+            throw new PostNotFoundException("Post not found with ID: " + postId);
+        }
+
+        List<CommentRow> comments = rows.stream()
+                .filter(row -> row.getId() != null)
+                .toList();
+
+        String nextCursor = null;
+        if (comments.size() > limit) {
+            comments = comments.subList(0, limit);
+            CommentRow last = comments.get(limit - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        List<CommentResponse> responses = comments.stream()
+                .map(CommentService::mapRowToResponse)
+                .toList();
+        return new CursorPageResponse<>(responses, nextCursor);
     }
 
     /**
      * Get all comments by a user
      */
+    @Transactional(readOnly = true)
     public Page<GlobalComment> getUserComments(UUID userId, Pageable pageable) {
         return commentRepository.findByUserId(userId, pageable);
     }
@@ -67,8 +112,9 @@ public class CommentService {
     /**
      * Get comment count on a post
      */
+    @Transactional(readOnly = true)
     public long getCommentCount(UUID postId) {
-        return commentRepository.countByPostId(postId);
+        return postRepository.findCommentCountById(postId).orElse(0L);
     }
 
     /**
@@ -97,11 +143,30 @@ public class CommentService {
             throw new UnauthorizedException("You can only delete your own comments");
         }
 
+        if (comment.isDeleted()) {
+            return; // Already deleted, counter was decremented the first time
+        }
+
         comment.setDeleted(true);
         commentRepository.save(comment);
+        postRepository.decrementCommentCount(comment.getPost().getId());
+        postResponseCache.evict(comment.getPost().getId());
+        eventPublisher.publishEvent(new PostEngagementEvent(comment.getPost().getId(), PostEngagementEvent.Type.UNCOMMENT));
         logger.info("Comment {} soft deleted by user {}", commentId, currentUser.getId());
     }
 
+    private static CommentResponse mapRowToResponse(CommentRow row) {
+        return new CommentResponse(
+                row.getId(),
+                row.getComment(),
+                row.getUsername(),
+                GlobalUsers.formatFullName(row.getFirstName(), row.getMiddleName(), row.getLastName()),
+                row.getProfilePicture(),
+                row.getCreatedAt(),
+                row.getEditedAt()
+        );
+    }
+
     /**
      * Map GlobalComment to CommentResponse DTO
      */
@@ -0,0 +1,81 @@
+package app.service;
+
+import app.dto.FollowResponse;
+import app.exception.FollowAlreadyExistsException;
+import app.exception.FollowNotFoundException;
+import app.exception.UserNotFoundException;
+import app.model.GlobalFollow;
+import app.model.GlobalUsers;
+import app.repository.GlobalFollowRepository;
+import app.repository.GlobalUsersRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class FollowService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FollowService.class);
+    private final GlobalFollowRepository followRepository;
+    private final GlobalUsersRepository usersRepository;
+    private final TimelineService timelineService;
+
+    /**
+     * Follow a user
+     */
+    public FollowResponse followUser(UUID followeeId, GlobalUsers follower) {
+        if (followeeId.equals(follower.getId())) {
+            throw new IllegalArgumentException("You cannot follow yourself");
+        }
+
+        GlobalUsers followee = usersRepository.findById(followeeId)
+                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + followeeId));
+
+        if (followRepository.existsByFollowerIdAndFolloweeId(follower.getId(), followeeId)) {
+            throw new FollowAlreadyExistsException("You already follow this user");
+        }
+
+        followRepository.save(new GlobalFollow(follower, followee));
+        usersRepository.incrementFollowerCount(followeeId);
+        long followerCount = getFollowerCount(followeeId);
+        timelineService.onFollow(follower.getId(), followeeId, followerCount);
+
+        logger.info("User {} followed user {}", follower.getId(), followeeId);
+        return new FollowResponse(true, followerCount);
+    }
+
+    /**
+     * Unfollow a user
+     */
+    public FollowResponse unfollowUser(UUID followeeId, GlobalUsers follower) {
+        GlobalFollow follow = followRepository.findByFollowerIdAndFolloweeId(follower.getId(), followeeId)
+                .orElseThrow(() -> new FollowNotFoundException("You do not follow this user"));
+
+        followRepository.delete(follow);
+        usersRepository.decrementFollowerCount(followeeId);
+        timelineService.onUnfollow(follower.getId(), followeeId);
+
+        logger.info("User {} unfollowed user {}", follower.getId(), followeeId);
+        return new FollowResponse(false, getFollowerCount(followeeId));
+    }
+
+    /**
+     * Get follower count for a user (reads the denormalized counter column)
+     */
+    public long getFollowerCount(UUID userId) {
+        return usersRepository.findFollowerCountById(userId).orElse(0L);
+    }
+
+    /**
+     * Check if a user follows another
+     */
+    public boolean isFollowing(UUID followerId, UUID followeeId) {
+        return followRepository.existsByFollowerIdAndFolloweeId(followerId, followeeId);
+    }
+}
@@ -1,26 +1,58 @@
 package app.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import app.config.GlobalUserDetails;
+import app.exception.UserNotFoundException;
 import app.model.GlobalUsers;
 import app.repository.GlobalUsersRepository;
+import app.util.AfterCommit;
+
+import java.time.Duration;
+import java.util.UUID;
 
 /**
  * Implementation of Spring Security's UserDetailsService.
  * This service is responsible for loading user details from the database
  * and wrapping them in a UserDetails object for authentication.
+ * <p>
+ * Request authentication goes through {@link #loadUserById(UUID)}, which is backed by a bounded
+ * cache keyed by user ID. Any change to a user must call {@link #evictUser(UUID)} so renamed or
+ * deleted accounts stop authenticating on their very next request.
+ * <p>
+ * Database lookups run in a read-write transaction, so they always hit the primary: an account that
+ * was just registered must be able to authenticate before a read replica has caught up.
  */
 @Service
 public class GlobalUserDetailsService implements UserDetailsService {
 
     private final GlobalUsersRepository globalUsersRepository;
+    private final Cache<UUID, GlobalUserDetails> userDetailsCache;
+    private final TransactionTemplate transactionTemplate;
 
     // Inject the UserRepository to access user data
-    public GlobalUserDetailsService(GlobalUsersRepository globalUsersRepository) {
+    public GlobalUserDetailsService(GlobalUsersRepository globalUsersRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${auth.user-cache.max-size:10000}") long maxSize,
+                                    @Value("${auth.user-cache.ttl:10m}") Duration ttl) {
         this.globalUsersRepository = globalUsersRepository;
+        this.transactionTemplate = transactionTemplate;
+        // The TTL only bounds staleness across instances; local changes are evicted explicitly
+        this.userDetailsCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userDetailsCache, "user.details");
     }
 
     /**
@@ -34,10 +66,43 @@ public class GlobalUserDetailsService implements UserDetailsService {
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         // 1. Fetch the GlobalUsers entity from the database
-        GlobalUsers user = globalUsersRepository.findByUsername(username)
+        GlobalUsers user = transactionTemplate.execute(status -> globalUsersRepository.findByUsername(username))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
 
         // 2. Wrap the entity in your custom UserDetails implementation
         return new GlobalUserDetails(user);
     }
-}
\ No newline at end of file
+
+    /**
+     * Resolves the principal for a verified JWT. Served from the cache when possible;
+     * the GlobalUsers entity is only loaded later if a controller asks for it.
+     *
+     * @param userId The "userId" claim of the token.
+     * @return Cached, entity-free GlobalUserDetails.
+     * @throws UsernameNotFoundException if the user no longer exists.
+     */
+    public GlobalUserDetails loadUserById(UUID userId) throws UsernameNotFoundException {
+        GlobalUserDetails details = userDetailsCache.get(userId, id -> transactionTemplate
+                .execute(status -> globalUsersRepository.findById(id))
+                .map(user -> new GlobalUserDetails(user.getId(), user.getUsername(), user.getPassword(), this::findUser))
+                .orElse(null));
+
+        if (details == null) {
+            throw new UsernameNotFoundException("User not found with ID: " + userId);
+        }
+        return details;
+    }
+
+    /**
+     * Drops the cached details for a user. When called inside a transaction the entry is
+     * evicted again after commit, so a concurrent request cannot re-cache the old row.
+     */
+    public void evictUser(UUID userId) {
+        AfterCommit.nowAndAfterCommit(() -> userDetailsCache.invalidate(userId));
+    }
+
+    private GlobalUsers findUser(UUID userId) {
+        return globalUsersRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
+    }
+}
@@ -1,37 +1,94 @@
 package app.service;
 
+import app.exception.UploadCapacityExceededException;
+import app.exception.UploadTooLargeException;
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Uploads images to Cloudinary without holding them on the heap.
+ * The multipart part is spooled to a temp file (usually a rename of the servlet container's own
+ * temp file) and handed to the Cloudinary client as a File, which streams it with a small fixed buffer.
+ * Each upload reserves its size against an aggregate in-flight budget first; when the budget is
+ * exhausted, uploads wait up to {@code uploads.queue-timeout} and are then rejected.
+ */
 @Service
-@RequiredArgsConstructor
 public class ImageUploadService {
 
+    private static final int BYTES_PER_PERMIT = 1024;
+
     private final Cloudinary cloudinary;
+    private final long maxFileBytes;
+    private final Duration queueTimeout;
+    private final Path spoolDirectory;
+    private final Semaphore inFlightKilobytes;
+    private final int maxInFlightPermits;
+
+    public ImageUploadService(Cloudinary cloudinary,
+                              MeterRegistry meterRegistry,
+                              @Value("${uploads.max-file-bytes:10485760}") long maxFileBytes,
+                              @Value("${uploads.max-in-flight-bytes:104857600}") long maxInFlightBytes,
+                              @Value("${uploads.queue-timeout:5s}") Duration queueTimeout,
+                              @Value("${uploads.spool-dir:${java.io.tmpdir}}") String spoolDirectory) {
+        this.cloudinary = cloudinary;
+        this.maxFileBytes = maxFileBytes;
+        this.queueTimeout = queueTimeout;
+        this.spoolDirectory = Path.of(spoolDirectory);
+        this.maxInFlightPermits = toPermits(maxInFlightBytes);
+        // Fair, so a large upload is not starved by a stream of small ones
+        this.inFlightKilobytes = new Semaphore(maxInFlightPermits, true);
+        meterRegistry.gauge("uploads.in-flight.bytes", inFlightKilobytes,
+                permits -> (double) (maxInFlightPermits - permits.availablePermits()) * BYTES_PER_PERMIT);
+    }
 
     /**
      * Upload image to Cloudinary
      * @param file Image file
      * @param folder Folder in Cloudinary (e.g., "posts" or "profiles")
      * @return Image URL
+     * @throws UploadTooLargeException if the file exceeds the per-file limit
+     * @throws UploadCapacityExceededException if the in-flight budget stays exhausted for the queue timeout
      */
     public String uploadImage(MultipartFile file, String folder) throws IOException {
-        Map uploadResult = cloudinary.uploader().upload(
-                file.getBytes(),
-                ObjectUtils.asMap(
-                        "folder", folder,
-                        "resource_type", "auto",
-                        "quality", "auto" // Auto-optimize
-                )
-        );
-
-        return (String) uploadResult.get("secure_url");
+        long size = file.getSize();
+        if (size > maxFileBytes) {
+            throw new UploadTooLargeException("File exceeds the maximum upload size of " + maxFileBytes + " bytes");
+        }
+
+        int permits = Math.min(toPermits(size), maxInFlightPermits);
+        acquire(permits);
+
+        Path spooled = spoolDirectory.resolve("upload-" + UUID.randomUUID() + ".tmp");
+        try {
+            file.transferTo(spooled);
+
+            Map uploadResult = cloudinary.uploader().upload(
+                    spooled.toFile(),
+                    ObjectUtils.asMap(
+                            "folder", folder,
+                            "resource_type", "auto",
+                            "quality", "auto" // Auto-optimize
+                    )
+            );
+
+            return (String) uploadResult.get("secure_url");
+        } finally {
+            Files.deleteIfExists(spooled);
+            inFlightKilobytes.release(permits);
+        }
     }
 
     /**
@@ -41,4 +98,19 @@ public class ImageUploadService {
     public void deleteImage(String publicId) throws IOException {
         cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
     }
-}
\ No newline at end of file
+
+    private void acquire(int permits) {
+        try {
+            if (!inFlightKilobytes.tryAcquire(permits, queueTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new UploadCapacityExceededException("Too many uploads in progress, please retry shortly");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UploadCapacityExceededException("Upload interrupted while waiting for capacity");
+        }
+    }
+
+    private static int toPermits(long bytes) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, (bytes + BYTES_PER_PERMIT - 1) / BYTES_PER_PERMIT));
+    }
+}
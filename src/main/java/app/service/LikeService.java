@@ -1,6 +1,7 @@
 package app.service;
 
 import app.dto.LikeResponse;
+import app.event.PostEngagementEvent;
 import app.exception.LikeAlreadyExistsException;
 import app.exception.LikeNotFoundException;
 import app.exception.PostNotFoundException;
@@ -12,9 +13,11 @@ import app.repository.GlobalPostRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -25,11 +28,19 @@ public class LikeService {
     private static final Logger logger = LoggerFactory.getLogger(LikeService.class);
     private final GlobalLikeRepository likeRepository;
     private final GlobalPostRepository postRepository;  // Direct repo, not service
+    private final LikeWriteBehindBuffer likeBuffer;
+    private final PostResponseCache postResponseCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LikedPostsCache likedPostsCache;
 
     /**
      * Like a post
      */
     public LikeResponse likePost(UUID postId, GlobalUsers user) {
+        if (likeBuffer.isEnabled()) {
+            return recordBufferedIntent(postId, user.getId(), true);
+        }
+
         // Verify post exists without using PostService
         GlobalPost post = postRepository.findById(postId)
                 .orElseThrow(() -> new PostNotFoundException("Post not found with ID: " + postId));
@@ -40,7 +51,11 @@ public class LikeService {
 
         GlobalLike like = new GlobalLike(post, user);
         likeRepository.save(like);
-        long likeCount = likeRepository.countByPostId(postId);
+        postRepository.incrementLikeCount(postId);
+        postResponseCache.evict(postId);
+        eventPublisher.publishEvent(new PostEngagementEvent(postId, PostEngagementEvent.Type.LIKE));
+        likedPostsCache.record(user.getId(), postId, true);
+        long likeCount = getLikeCountForPost(postId);
 
         logger.info("User {} liked post {}", user.getId(), postId);
         return new LikeResponse(true, likeCount);
@@ -50,11 +65,19 @@ public class LikeService {
      * Unlike a post
      */
     public LikeResponse unlikePost(UUID postId, GlobalUsers user) {
+        if (likeBuffer.isEnabled()) {
+            return recordBufferedIntent(postId, user.getId(), false);
+        }
+
         GlobalLike like = likeRepository.findByPostIdAndUserId(postId, user.getId())
                 .orElseThrow(() -> new LikeNotFoundException("Like not found"));
 
         likeRepository.delete(like);
-        long likeCount = likeRepository.countByPostId(postId);
+        postRepository.decrementLikeCount(postId);
+        postResponseCache.evict(postId);
+        eventPublisher.publishEvent(new PostEngagementEvent(postId, PostEngagementEvent.Type.UNLIKE));
+        likedPostsCache.record(user.getId(), postId, false);
+        long likeCount = getLikeCountForPost(postId);
 
         logger.info("User {} unliked post {}", user.getId(), postId);
         return new LikeResponse(false, likeCount);
@@ -63,14 +86,31 @@ public class LikeService {
     /**
      * Get like count for a post
      */
+    @Transactional(readOnly = true)
     public long getLikeCountForPost(UUID postId) {
-        return likeRepository.countByPostId(postId);
+        return postRepository.findLikeCountById(postId).orElse(0L) + likeBuffer.pendingDelta(postId);
+    }
+
+    /**
+     * Whether a user liked a post (from their cached like set), with the post's like count
+     */
+    @Transactional(readOnly = true)
+    public LikeResponse getLikeStatus(UUID postId, UUID userId) {
+        long persistedCount = postRepository.findLikeCountById(postId)
+                .orElseThrow(() -> new PostNotFoundException("Post not found with ID: " + postId));
+        boolean liked = likedPostsCache.likedAmong(userId, List.of(postId)).contains(postId);
+        return new LikeResponse(liked, persistedCount + likeBuffer.pendingDelta(postId));
     }
 
     /**
      * Check if user liked a post
      */
+    @Transactional(readOnly = true)
     public boolean hasUserLikedPost(UUID postId, UUID userId) {
+        Boolean pending = likeBuffer.isEnabled() ? likeBuffer.pendingState(postId, userId) : null;
+        if (pending != null) {
+            return pending;
+        }
         return likeRepository.existsByPostIdAndUserId(postId, userId);
     }
 
@@ -78,7 +118,7 @@ public class LikeService {
      * Toggle like (like if not liked, unlike if liked)
      */
     public boolean toggleLike(UUID postId, GlobalUsers user) {
-        if (likeRepository.existsByPostIdAndUserId(postId, user.getId())) {
+        if (hasUserLikedPost(postId, user.getId())) {
             unlikePost(postId, user);
             return false;
         } else {
@@ -86,4 +126,28 @@ public class LikeService {
             return true;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Write-behind path: validate against buffer + DB, then only record the intent in memory.
+     * The INSERT/DELETE and the counter update happen later in LikeWriteBehindBuffer's flush.
+     */
+    private LikeResponse recordBufferedIntent(UUID postId, UUID userId, boolean liked) {
+        long persistedCount = postRepository.findLikeCountById(postId)
+                .orElseThrow(() -> new PostNotFoundException("Post not found with ID: " + postId));
+
+        boolean currentlyLiked = hasUserLikedPost(postId, userId);
+        if (liked && currentlyLiked) {
+            throw new LikeAlreadyExistsException("User has already liked this post");
+        }
+        if (!liked && !currentlyLiked) {
+            throw new LikeNotFoundException("Like not found");
+        }
+
+        likeBuffer.record(postId, userId, liked, currentlyLiked);
+        eventPublisher.publishEvent(new PostEngagementEvent(postId,
+                liked ? PostEngagementEvent.Type.LIKE : PostEngagementEvent.Type.UNLIKE));
+        likedPostsCache.record(userId, postId, liked);
+        logger.debug("User {} {} post {} (buffered)", userId, liked ? "liked" : "unliked", postId);
+        return new LikeResponse(liked, persistedCount + likeBuffer.pendingDelta(postId));
+    }
+}
@@ -0,0 +1,355 @@
+package app.service;
+
+import app.util.UuidBytes;
+import app.util.UuidV7;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Optional write-behind mode for likes ({@code likes.write-behind.enabled=true}).
+ * <p>
+ * Like/unlike intents are kept per (postId, userId) in a ConcurrentHashMap (lock-striped writes,
+ * lock-free reads). A like followed by an unlike before the next flush cancels out and never reaches
+ * the database. A background flusher writes the net changes to global_like with JDBC batches and
+ * applies one counter UPDATE per post. A post whose batched row came back as
+ * {@link Statement#SUCCESS_NO_INFO} (the driver did not say whether the row changed) gets its counter
+ * recounted from global_like instead.
+ * <p>
+ * Reads stay consistent for the clicking user: intents remain visible (first in the pending map,
+ * then in the in-flight map) until the flush transaction that persists them has committed.
+ * Intents are persisted within {@code likes.write-behind.max-lag-ms} of being recorded; if the
+ * flusher falls behind, the next writer wakes it up.
+ * <p>
+ * Flushes run only on the buffer's own flusher thread, never on a request thread (where they would join
+ * the caller's transaction) and never on the shared scheduler, where other jobs could hold them up.
+ */
+@Component
+public class LikeWriteBehindBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LikeWriteBehindBuffer.class);
+
+    private static final String INSERT_LIKE =
+            "INSERT IGNORE INTO global_like (id, post_id, user_id, liked_at) VALUES (?, ?, ?, ?)";
+    private static final String DELETE_LIKE =
+            "DELETE FROM global_like WHERE post_id = ? AND user_id = ?";
+    private static final String ADJUST_LIKE_COUNT =
+            "UPDATE global_posts SET like_count = GREATEST(like_count + ?, 0) WHERE id = ?";
+    private static final String RECOUNT_LIKES =
+            "UPDATE global_posts SET like_count = (SELECT COUNT(*) FROM global_like WHERE post_id = ?) WHERE id = ?";
+
+    private record LikeKey(UUID postId, UUID userId) {
+    }
+
+    /**
+     * @param liked          State the user asked for
+     * @param baseline       State already persisted (or in flight) when the first intent was recorded
+     * @param recordedAtNanos When the first intent for this key was recorded
+     */
+    private record Intent(boolean liked, boolean baseline, long recordedAtNanos) {
+        int delta() {
+            return liked == baseline ? 0 : (liked ? 1 : -1);
+        }
+    }
+
+    private final ConcurrentHashMap<LikeKey, Intent> pending = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<LikeKey, Intent> inFlight = new ConcurrentHashMap<>();
+    // Net like count change per post that global_posts.like_count does not reflect yet (zero entries are removed)
+    private final ConcurrentHashMap<UUID, Long> pendingDeltas = new ConcurrentHashMap<>();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicLong lastFlushNanos = new AtomicLong(System.nanoTime());
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("likes-flusher").daemon().factory());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PostResponseCache postResponseCache;
+    private final Timer flushTimer;
+    private final Counter flushedCounter;
+    private final Counter failedCounter;
+
+    @Value("${likes.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${likes.write-behind.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${likes.write-behind.max-lag-ms:1000}")
+    private long maxLagMs;
+
+    public LikeWriteBehindBuffer(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 PostResponseCache postResponseCache,
+                                 MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.postResponseCache = postResponseCache;
+        this.flushTimer = meterRegistry.timer("likes.buffer.flush");
+        this.flushedCounter = meterRegistry.counter("likes.buffer.flushed");
+        this.failedCounter = meterRegistry.counter("likes.buffer.failed");
+        meterRegistry.gaugeMapSize("likes.buffer.pending", List.of(), pending);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        if (flushIntervalMs >= maxLagMs) {
+            throw new IllegalStateException("likes.write-behind.flush-interval-ms (" + flushIntervalMs
+                    + ") must be lower than likes.write-behind.max-lag-ms (" + maxLagMs + ")");
+        }
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Like state that is not persisted yet
+     * @return true/false if an intent is pending or in flight, null if the database is authoritative
+     */
+    public Boolean pendingState(UUID postId, UUID userId) {
+        LikeKey key = new LikeKey(postId, userId);
+        Intent intent = pending.get(key);
+        if (intent == null) {
+            intent = inFlight.get(key);
+        }
+        return intent == null ? null : intent.liked();
+    }
+
+    /**
+     * Net like count change for a post that is not reflected in global_posts.like_count yet
+     */
+    public long pendingDelta(UUID postId) {
+        return pendingDeltas.getOrDefault(postId, 0L);
+    }
+
+    /**
+     * Record a like or unlike intent
+     * @param currentlyLiked State the caller observed (pending intent, or the database)
+     */
+    public void record(UUID postId, UUID userId, boolean liked, boolean currentlyLiked) {
+        LikeKey key = new LikeKey(postId, userId);
+        long now = System.nanoTime();
+
+        pending.compute(key, (k, existing) -> {
+            Intent updated = existing == null
+                    ? new Intent(liked, currentlyLiked, now)
+                    : new Intent(liked, existing.baseline(), existing.recordedAtNanos());
+            int change = updated.delta() - (existing == null ? 0 : existing.delta());
+            adjustPendingDelta(postId, change);
+            // A like and an unlike inside the same window cancel out
+            return updated.delta() == 0 ? null : updated;
+        });
+
+        // Max-lag guarantee: if the flusher is behind, wake it up now
+        if (now - lastFlushNanos.get() > TimeUnit.MILLISECONDS.toNanos(maxLagMs)) {
+            try {
+                flusher.execute(this::flushQuietly);
+            } catch (RejectedExecutionException e) {
+                // Shutting down; flushOnShutdown persists what is left
+            }
+        }
+    }
+
+    /**
+     * Drop every pending intent of a user whose account is being purged, then wait for a flush that may
+     * be writing some of them, so no later flush re-inserts likes after the purge has removed them
+     */
+    public void discardUser(UUID userId) {
+        if (!enabled) {
+            return;
+        }
+        pending.forEach((key, intent) -> {
+            if (key.userId().equals(userId) && pending.remove(key, intent)) {
+                adjustPendingDelta(key.postId(), -intent.delta());
+            }
+        });
+        flushLock.lock();
+        flushLock.unlock();
+    }
+
+    /**
+     * Persist all pending intents (on the flusher thread; default every 200 ms)
+     */
+    private void flush() {
+        if (!enabled || !flushLock.tryLock()) {
+            return;
+        }
+        try {
+            lastFlushNanos.set(System.nanoTime());
+            Map<LikeKey, Intent> batch = drain();
+            if (!batch.isEmpty()) {
+                flushTimer.record(() -> persist(batch));
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flush();
+    }
+
+    // An exception would cancel the periodic task, so a failed flush is logged and retried on the next run
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Like flush failed", e);
+        }
+    }
+
+    /**
+     * Move every pending intent to the in-flight map, so reads still see it while it is written
+     */
+    private Map<LikeKey, Intent> drain() {
+        Map<LikeKey, Intent> batch = new HashMap<>();
+        for (Map.Entry<LikeKey, Intent> entry : pending.entrySet()) {
+            LikeKey key = entry.getKey();
+            Intent intent = entry.getValue();
+            inFlight.put(key, intent);
+            if (pending.remove(key, intent)) {
+                batch.put(key, intent);
+            } else {
+                // Replaced concurrently; it will be picked up by the next flush
+                inFlight.remove(key, intent);
+            }
+        }
+        return batch;
+    }
+
+    private void persist(Map<LikeKey, Intent> batch) {
+        List<LikeKey> inserts = new ArrayList<>();
+        List<LikeKey> deletes = new ArrayList<>();
+        batch.forEach((key, intent) -> (intent.liked() ? inserts : deletes).add(key));
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> writeBatch(inserts, deletes));
+            flushedCounter.increment(batch.size());
+        } catch (DataAccessException e) {
+            // One bad row (e.g. post deleted meanwhile) must not lose the others: retry row by row
+            logger.warn("Batched like flush failed, retrying {} intents one by one: {}", batch.size(), e.getMessage());
+            for (LikeKey key : inserts) {
+                persistSingle(key, true);
+            }
+            for (LikeKey key : deletes) {
+                persistSingle(key, false);
+            }
+        } finally {
+            batch.forEach((key, intent) -> {
+                inFlight.remove(key, intent);
+                adjustPendingDelta(key.postId(), -intent.delta());
+            });
+        }
+    }
+
+    private void adjustPendingDelta(UUID postId, long change) {
+        if (change != 0) {
+            pendingDeltas.merge(postId, change, (current, added) -> current + added == 0 ? null : current + added);
+        }
+    }
+
+    private void writeBatch(List<LikeKey> inserts, List<LikeKey> deletes) {
+        Map<UUID, Integer> countChanges = new HashMap<>();
+        // Posts with a row whose outcome the driver did not report; their counter is recounted instead
+        Set<UUID> recounts = new HashSet<>();
+        Timestamp now = Timestamp.from(Instant.now());
+
+        if (!inserts.isEmpty()) {
+            int[] inserted = jdbcTemplate.batchUpdate(INSERT_LIKE, inserts, inserts.size(), (ps, key) -> {
+                ps.setBytes(1, UuidBytes.toBytes(UuidV7.next()));
+                ps.setBytes(2, UuidBytes.toBytes(key.postId()));
+                ps.setBytes(3, UuidBytes.toBytes(key.userId()));
+                ps.setTimestamp(4, now);
+            })[0];
+            for (int i = 0; i < inserts.size(); i++) {
+                if (inserted[i] == Statement.SUCCESS_NO_INFO) {
+                    recounts.add(inserts.get(i).postId());
+                } else if (inserted[i] > 0) {
+                    countChanges.merge(inserts.get(i).postId(), 1, Integer::sum);
+                }
+            }
+        }
+
+        if (!deletes.isEmpty()) {
+            int[] deleted = jdbcTemplate.batchUpdate(DELETE_LIKE, deletes, deletes.size(), (ps, key) -> {
+                ps.setBytes(1, UuidBytes.toBytes(key.postId()));
+                ps.setBytes(2, UuidBytes.toBytes(key.userId()));
+            })[0];
+            for (int i = 0; i < deletes.size(); i++) {
+                if (deleted[i] == Statement.SUCCESS_NO_INFO) {
+                    recounts.add(deletes.get(i).postId());
+                } else if (deleted[i] > 0) {
+                    countChanges.merge(deletes.get(i).postId(), -1, Integer::sum);
+                }
+            }
+        }
+
+        // One counter UPDATE per post, however many likes it received in this window
+        List<Map.Entry<UUID, Integer>> adjustments = countChanges.entrySet().stream()
+                .filter(change -> change.getValue() != 0 && !recounts.contains(change.getKey()))
+                .toList();
+        if (!adjustments.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADJUST_LIKE_COUNT, adjustments, adjustments.size(), (ps, change) -> {
+                ps.setInt(1, change.getValue());
+                ps.setBytes(2, UuidBytes.toBytes(change.getKey()));
+            });
+            // Cached responses carry like_count; drop them once the new counts are committed
+            adjustments.forEach(change -> postResponseCache.evict(change.getKey()));
+        }
+        if (!recounts.isEmpty()) {
+            jdbcTemplate.batchUpdate(RECOUNT_LIKES, recounts, recounts.size(), (ps, postId) -> {
+                byte[] id = UuidBytes.toBytes(postId);
+                ps.setBytes(1, id);
+                ps.setBytes(2, id);
+            });
+            recounts.forEach(postResponseCache::evict);
+        }
+    }
+
+    private void persistSingle(LikeKey key, boolean liked) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    writeBatch(liked ? List.of(key) : List.of(), liked ? List.of() : List.of(key)));
+            flushedCounter.increment();
+        } catch (DataAccessException e) {
+            failedCounter.increment();
+            logger.error("Dropping like intent ({}) for post {} by user {}: {}",
+                    liked ? "like" : "unlike", key.postId(), key.userId(), e.getMessage());
+        }
+    }
+}
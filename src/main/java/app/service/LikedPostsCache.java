@@ -0,0 +1,214 @@
+package app.service;
+
+import app.repository.GlobalLikeRepository;
+import app.util.AfterCommit;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Per-user sets of liked post IDs, for filling {@code likedByMe} on pages of posts.
+ * <p>
+ * A user's set is loaded with one query and holds every post the user has liked whose ID is at or
+ * above the set's floor. Post IDs are UUIDv7, so the floor is a creation time: by default the posts
+ * of the last {@code likes.liked-cache.horizon} (7 days), capped at {@code likes.liked-cache.max-per-user}
+ * likes, in which case the floor moves up to the oldest post kept. Feed and timeline pages are mostly
+ * newer than that, so they are answered from memory; posts below the floor go to a single
+ * {@code user_id = ? AND post_id IN (...)} query.
+ * <p>
+ * IDs are stored as sorted (msb, lsb) pairs in one long[] (16 bytes per like, binary searched) and
+ * replaced copy-on-write by likes/unlikes after they commit. The cache is bounded by the total number
+ * of IDs ({@code likes.liked-cache.max-ids}).
+ * <p>
+ * Staleness guarantees:
+ * <ul>
+ *   <li>Likes and unlikes made through this instance are applied to the user's set once they commit.</li>
+ *   <li>Likes made on another instance, and a set loaded from a lagging read replica, are not corrected
+ *       in place. Each set is reloaded {@code likes.liked-cache.ttl} after it was loaded, however often it
+ *       is read or patched, so such a difference lasts at most that long.</li>
+ * </ul>
+ */
+@Component
+public class LikedPostsCache {
+
+    /**
+     * @param floor Lowest post ID the set is complete for (in BINARY(16) order)
+     * @param ids   Liked post IDs as (msb, lsb) pairs, ascending in BINARY(16) order
+     */
+    private record LikedSet(UUID floor, long[] ids) {
+
+        boolean covers(UUID postId) {
+            return compareAsBinary(postId.getMostSignificantBits(), postId.getLeastSignificantBits(),
+                    floor.getMostSignificantBits(), floor.getLeastSignificantBits()) >= 0;
+        }
+
+        boolean contains(UUID postId) {
+            return indexOf(postId) >= 0;
+        }
+
+        int size() {
+            return ids.length / 2;
+        }
+
+        LikedSet with(UUID postId, boolean liked) {
+            int index = indexOf(postId);
+            if (liked == (index >= 0)) {
+                return this;
+            }
+            long[] updated;
+            if (liked) {
+                int at = -index - 1;
+                updated = new long[ids.length + 2];
+                System.arraycopy(ids, 0, updated, 0, at * 2);
+                updated[at * 2] = postId.getMostSignificantBits();
+                updated[at * 2 + 1] = postId.getLeastSignificantBits();
+                System.arraycopy(ids, at * 2, updated, at * 2 + 2, ids.length - at * 2);
+            } else {
+                updated = new long[ids.length - 2];
+                System.arraycopy(ids, 0, updated, 0, index * 2);
+                System.arraycopy(ids, index * 2 + 2, updated, index * 2, ids.length - index * 2 - 2);
+            }
+            return new LikedSet(floor, updated);
+        }
+
+        /**
+         * @return Index of the pair, or (-(insertion point) - 1) like Arrays.binarySearch
+         */
+        private int indexOf(UUID postId) {
+            long msb = postId.getMostSignificantBits();
+            long lsb = postId.getLeastSignificantBits();
+            int low = 0;
+            int high = size() - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = compareAsBinary(ids[mid * 2], ids[mid * 2 + 1], msb, lsb);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+
+    private final LoadingCache<UUID, LikedSet> cache;
+    private final GlobalLikeRepository likeRepository;
+    private final LikeWriteBehindBuffer likeBuffer;
+    private final Counter fallbackQueries;
+
+    @Value("${likes.liked-cache.horizon:7d}")
+    private Duration horizon;
+
+    @Value("${likes.liked-cache.max-per-user:2000}")
+    private int maxPerUser;
+
+    public LikedPostsCache(GlobalLikeRepository likeRepository,
+                           LikeWriteBehindBuffer likeBuffer,
+                           MeterRegistry meterRegistry,
+                           @Value("${likes.liked-cache.max-ids:5000000}") long maxIds,
+                           @Value("${likes.liked-cache.ttl:10m}") Duration ttl) {
+        this.likeRepository = likeRepository;
+        this.likeBuffer = likeBuffer;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxIds)
+                .weigher((UUID userId, LikedSet set) -> set.size() + 1)
+                // From load time only: reads and local patches must not keep a stale set alive
+                .expireAfter(Expiry.creating((UUID userId, LikedSet set) -> ttl))
+                .recordStats()
+                .build(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "likes.liked-by-user");
+        this.fallbackQueries = meterRegistry.counter("likes.liked-by-user.fallback.queries");
+    }
+
+    /**
+     * Which of the given posts the user has liked
+     * @return Subset of postIds
+     */
+    public Set<UUID> likedAmong(UUID userId, Collection<UUID> postIds) {
+        LikedSet set = cache.get(userId);
+        Set<UUID> liked = new HashSet<>();
+        List<UUID> uncovered = new ArrayList<>();
+        for (UUID postId : postIds) {
+            if (!set.covers(postId)) {
+                uncovered.add(postId);
+            } else if (set.contains(postId)) {
+                liked.add(postId);
+            }
+        }
+
+        if (!uncovered.isEmpty()) {
+            fallbackQueries.increment();
+            liked.addAll(likeRepository.findLikedPostIdsAmong(userId, uncovered));
+        }
+
+        // Write-behind intents that are not persisted yet win over what the database returned
+        if (likeBuffer.isEnabled()) {
+            for (UUID postId : postIds) {
+                Boolean pending = likeBuffer.pendingState(postId, userId);
+                if (Boolean.TRUE.equals(pending)) {
+                    liked.add(postId);
+                } else if (Boolean.FALSE.equals(pending)) {
+                    liked.remove(postId);
+                }
+            }
+        }
+        return liked;
+    }
+
+    /**
+     * Apply a like or unlike to the user's cached set once the current transaction (if any) commits
+     */
+    public void record(UUID userId, UUID postId, boolean liked) {
+        AfterCommit.run(() -> cache.asMap().computeIfPresent(userId,
+                (id, set) -> set.covers(postId) ? set.with(postId, liked) : set));
+    }
+
+    /**
+     * Drop a user's set (account deletion)
+     */
+    public void evict(UUID userId) {
+        cache.invalidate(userId);
+    }
+
+    private LikedSet load(UUID userId) {
+        UUID floor = new UUID(Instant.now().minus(horizon).toEpochMilli() << 16, 0L);
+        // Newest first, one past the cap to know whether the cap was hit
+        List<UUID> postIds = likeRepository.findLikedPostIdsFrom(userId, floor, PageRequest.of(0, maxPerUser + 1));
+        if (postIds.size() > maxPerUser) {
+            postIds = postIds.subList(0, maxPerUser);
+            floor = postIds.get(maxPerUser - 1);
+        }
+
+        long[] ids = new long[postIds.size() * 2];
+        // Reverse into ascending order
+        for (int i = 0, j = postIds.size() - 1; j >= 0; i++, j--) {
+            ids[i * 2] = postIds.get(j).getMostSignificantBits();
+            ids[i * 2 + 1] = postIds.get(j).getLeastSignificantBits();
+        }
+        return new LikedSet(floor, ids);
+    }
+
+    // Same order as BINARY(16): both halves compared as unsigned
+    private static int compareAsBinary(long msbA, long lsbA, long msbB, long lsbB) {
+        int cmp = Long.compareUnsigned(msbA, msbB);
+        return cmp != 0 ? cmp : Long.compareUnsigned(lsbA, lsbB);
+    }
+}
@@ -0,0 +1,336 @@
+package app.service;
+
+import app.dto.PostCountersResponse;
+import app.event.PostDeletedEvent;
+import app.event.PostEngagementEvent;
+import app.exception.PostNotFoundException;
+import app.repository.GlobalPostRepository;
+import app.repository.GlobalPostRepository.CounterRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Live like/comment counters for {@code GET /api/posts/{postId}/live} (Server-Sent Events).
+ * <p>
+ * Subscribers of a post share one channel. Likes and comments only mark the channel dirty; a scheduled
+ * tick (at most {@code posts.live.max-events-per-second} per second) reads the counters of every dirty
+ * post with one query, serializes each post's event once and writes that same frame to all of its
+ * subscribers, so 10k watchers of one post cost one lookup and one serialization per tick. A new
+ * subscriber gets the channel's last frame without a query.
+ * <p>
+ * Connections are async servlet requests: an idle one holds no thread, only its emitter. Each subscriber
+ * is written by its own virtual thread and holds at most one unsent frame, which a newer frame replaces,
+ * so a slow client only ever falls behind to the latest counters and never holds up the other watchers.
+ * A subscriber whose write has been blocked for longer than {@code posts.live.max-write-stall} is dropped.
+ * <p>
+ * Counters are read in a read-write transaction, i.e. from the primary: a change is broadcast only once,
+ * so a value read from a lagging replica would stay on screen until the post's next like or comment.
+ */
+@Service
+public class LivePostCounters {
+
+    private static final Logger logger = LoggerFactory.getLogger(LivePostCounters.class);
+
+    private static final class Channel {
+        private final UUID postId;
+        private final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        private volatile String lastPayload;
+
+        Channel(UUID postId) {
+            this.postId = postId;
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        // Latest frame not written yet; a newer frame replaces it
+        private final AtomicReference<Set<DataWithMediaType>> next = new AtomicReference<>();
+        private final AtomicBoolean writing = new AtomicBoolean();
+        private volatile long writeStartedNanos; // 0 while no write is in progress
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        boolean stalledLongerThan(long nanos, long now) {
+            long started = writeStartedNanos;
+            return started != 0 && now - started > nanos;
+        }
+    }
+
+    private final ConcurrentHashMap<UUID, Channel> channels = new ConcurrentHashMap<>();
+    private final ExecutorService sender = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("live-counters-", 0).factory());
+
+    private final GlobalPostRepository postRepository;
+    private final LikeWriteBehindBuffer likeBuffer;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter broadcasts;
+    private final Counter stalledSubscribers;
+
+    @Value("${posts.live.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${posts.live.max-events-per-second:4}")
+    private int maxEventsPerSecond;
+
+    @Value("${posts.live.max-write-stall:10s}")
+    private Duration maxWriteStall;
+
+    public LivePostCounters(GlobalPostRepository postRepository,
+                            LikeWriteBehindBuffer likeBuffer,
+                            ObjectMapper objectMapper,
+                            TransactionTemplate transactionTemplate,
+                            MeterRegistry meterRegistry) {
+        this.postRepository = postRepository;
+        this.likeBuffer = likeBuffer;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.broadcasts = meterRegistry.counter("posts.live.broadcasts");
+        this.stalledSubscribers = meterRegistry.counter("posts.live.subscribers.stalled");
+        meterRegistry.gaugeMapSize("posts.live.channels", List.of(), channels);
+        meterRegistry.gauge("posts.live.subscribers", channels,
+                map -> map.values().stream().mapToInt(channel -> channel.subscribers.size()).sum());
+    }
+
+    @PostConstruct
+    void validate() {
+        // The tick interval is 1000 / max-events-per-second ms, which must stay at least 1 ms
+        if (maxEventsPerSecond < 1 || maxEventsPerSecond > 1000) {
+            throw new IllegalStateException("posts.live.max-events-per-second (" + maxEventsPerSecond
+                    + ") must be between 1 and 1000");
+        }
+    }
+
+    /**
+     * Open a stream for a post; the first event carries the current counters
+     * @throws PostNotFoundException if the post does not exist (checked only when nobody watches it yet)
+     */
+    public SseEmitter subscribe(UUID postId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        Channel channel = channels.compute(postId, (id, existing) -> {
+            Channel current = existing == null ? new Channel(id) : existing;
+            current.subscribers.add(subscriber);
+            return current;
+        });
+        Runnable unsubscribe = () -> unsubscribe(channel, subscriber);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+
+        String payload = channel.lastPayload;
+        if (payload == null) {
+            CounterRow counters = findCounters(List.of(postId)).stream().findFirst().orElse(null);
+            if (counters == null) {
+                unsubscribe(channel, subscriber);
+                throw new PostNotFoundException("Post not found with ID: " + postId);
+            }
+            payload = toPayload(counters);
+            channel.lastPayload = payload;
+        }
+        // Unless a broadcast has already queued newer counters
+        offer(subscriber, countersFrame(payload), false);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEngagement(PostEngagementEvent event) {
+        Channel channel = channels.get(event.postId());
+        if (channel != null) {
+            channel.dirty.set(true);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onPostDeleted(PostDeletedEvent event) {
+        Channel channel = channels.remove(event.postId());
+        if (channel != null) {
+            close(channel);
+        }
+    }
+
+    /**
+     * Push the new counters of every changed post (the fixed rate caps the events per second)
+     */
+    @Scheduled(fixedRateString = "#{1000 / ${posts.live.max-events-per-second:4}}")
+    public void broadcastChanges() {
+        List<Channel> changed = channels.values().stream()
+                .filter(channel -> channel.dirty.getAndSet(false))
+                .toList();
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, CounterRow> counters;
+        try {
+            counters = findCounters(changed.stream().map(channel -> channel.postId).toList())
+                    .stream()
+                    .collect(Collectors.toMap(CounterRow::getId, Function.identity()));
+        } catch (RuntimeException e) {
+            changed.forEach(channel -> channel.dirty.set(true));
+            logger.warn("Live counter lookup failed, retrying on the next tick: {}", e.getMessage());
+            return;
+        }
+
+        for (Channel channel : changed) {
+            CounterRow row = counters.get(channel.postId);
+            if (row == null) {
+                // Deleted meanwhile (e.g. by an account purge)
+                if (channels.remove(channel.postId, channel)) {
+                    close(channel);
+                }
+                continue;
+            }
+            String payload = toPayload(row);
+            if (payload.equals(channel.lastPayload)) {
+                continue;
+            }
+            channel.lastPayload = payload;
+            Set<DataWithMediaType> frame = countersFrame(payload);
+            broadcasts.increment();
+            sender.execute(() -> broadcast(channel, frame, true));
+        }
+    }
+
+    /**
+     * Comment line on every stream, so proxies keep idle connections open and dead ones are noticed
+     */
+    @Scheduled(fixedRateString = "${posts.live.heartbeat-ms:25000}")
+    public void heartbeat() {
+        Set<DataWithMediaType> frame = SseEmitter.event().comment("").build();
+        // A pending counters frame keeps the connection busy anyway, so the comment never replaces it
+        sender.execute(() -> channels.values().forEach(channel -> broadcast(channel, frame, false)));
+    }
+
+    /**
+     * Queue the frame for every subscriber of the channel, dropping those stuck on an earlier write
+     */
+    private void broadcast(Channel channel, Set<DataWithMediaType> frame, boolean replacePending) {
+        long now = System.nanoTime();
+        long maxStallNanos = maxWriteStall.toNanos();
+        for (Subscriber subscriber : channel.subscribers) {
+            if (subscriber.stalledLongerThan(maxStallNanos, now)) {
+                stalledSubscribers.increment();
+                logger.debug("Dropping live counter subscriber of post {}: write blocked for over {}",
+                        channel.postId, maxWriteStall);
+                unsubscribe(channel, subscriber);
+                // complete() waits for the blocked write, so it must not run on this thread
+                sender.execute(subscriber.emitter::complete);
+            } else {
+                offer(subscriber, frame, replacePending);
+            }
+        }
+    }
+
+    /**
+     * Hand a frame to the subscriber's writer, starting one if none is running
+     * @param replacePending Whether the frame replaces one that is still waiting to be written
+     */
+    private void offer(Subscriber subscriber, Set<DataWithMediaType> frame, boolean replacePending) {
+        if (replacePending) {
+            subscriber.next.set(frame);
+        } else if (!subscriber.next.compareAndSet(null, frame)) {
+            return;
+        }
+        if (subscriber.writing.compareAndSet(false, true)) {
+            sender.execute(() -> write(subscriber));
+        }
+    }
+
+    private void write(Subscriber subscriber) {
+        try {
+            Set<DataWithMediaType> frame;
+            while ((frame = subscriber.next.getAndSet(null)) != null) {
+                subscriber.writeStartedNanos = System.nanoTime();
+                send(subscriber.emitter, frame);
+            }
+        } finally {
+            subscriber.writeStartedNanos = 0;
+            subscriber.writing.set(false);
+        }
+        // A frame offered after the last poll but before the flag was cleared found a writer running
+        if (subscriber.next.get() != null && subscriber.writing.compareAndSet(false, true)) {
+            sender.execute(() -> write(subscriber));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        channels.values().forEach(this::close);
+        channels.clear();
+        sender.shutdownNow();
+    }
+
+    private void unsubscribe(Channel channel, Subscriber subscriber) {
+        channel.subscribers.remove(subscriber);
+        channels.computeIfPresent(channel.postId,
+                (id, current) -> current == channel && current.subscribers.isEmpty() ? null : current);
+    }
+
+    private void close(Channel channel) {
+        Set<DataWithMediaType> frame = SseEmitter.event().name("deleted").data("").build();
+        // One task per subscriber, so a stalled connection cannot hold up closing the others
+        channel.subscribers.forEach(subscriber -> sender.execute(() -> {
+            send(subscriber.emitter, frame);
+            subscriber.emitter.complete();
+        }));
+    }
+
+    private List<CounterRow> findCounters(List<UUID> postIds) {
+        return transactionTemplate.execute(status -> postRepository.findCountersByIdIn(postIds));
+    }
+
+    private String toPayload(CounterRow row) {
+        long likeCount = row.getLikeCount() + likeBuffer.pendingDelta(row.getId());
+        try {
+            return objectMapper.writeValueAsString(new PostCountersResponse(row.getId(), likeCount, row.getCommentCount()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize counters of post " + row.getId(), e);
+        }
+    }
+
+    private static Set<DataWithMediaType> countersFrame(String payload) {
+        return SseEmitter.event().name("counters").data(payload).build();
+    }
+
+    private static void send(SseEmitter emitter, Set<DataWithMediaType> frame) {
+        try {
+            emitter.send(frame);
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter already completed: the container's error/completion
+            // callbacks unsubscribe it, so there is nothing to clean up here
+            logger.debug("Dropping live counter frame: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package app.service;
+
+import app.repository.GlobalPostRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Periodically recomputes the denormalized like/comment counters on global_posts.
+ * Posts are walked in primary-key order, one chunk per transaction, so each pass
+ * only holds row locks on a small slice of the table at a time.
+ */
+@Service
+@RequiredArgsConstructor
+public class PostCounterReconciliationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostCounterReconciliationService.class);
+    private static final UUID LOWEST_ID = new UUID(0L, 0L);
+
+    private final GlobalPostRepository postRepository;
+
+    @Value("${posts.counters.reconcile-chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Scheduled entry point (default: every hour)
+     */
+    @Scheduled(initialDelayString = "${posts.counters.reconcile-initial-delay-ms:60000}",
+            fixedDelayString = "${posts.counters.reconcile-interval-ms:3600000}")
+    public void reconcileScheduled() {
+        reconcileAll();
+    }
+
+    /**
+     * Recompute every post's counters in chunks
+     * @return Number of drifted counters that were corrected
+     */
+    public long reconcileAll() {
+        UUID lastId = LOWEST_ID;
+        long scanned = 0;
+        long corrected = 0;
+
+        List<UUID> chunk;
+        do {
+            chunk = postRepository.findIdsAfter(lastId, PageRequest.of(0, chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            corrected += postRepository.reconcileLikeCounts(chunk);
+            corrected += postRepository.reconcileCommentCounts(chunk);
+            scanned += chunk.size();
+            lastId = chunk.get(chunk.size() - 1);
+        } while (chunk.size() == chunkSize);
+
+        if (corrected > 0) {
+            logger.warn("Counter reconciliation corrected {} drifted counters across {} posts", corrected, scanned);
+        } else {
+            logger.info("Counter reconciliation scanned {} posts, no drift found", scanned);
+        }
+        return corrected;
+    }
+}
@@ -0,0 +1,109 @@
+package app.service;
+
+import app.dto.PostResponse;
+import app.model.GlobalPost;
+import app.model.GlobalUsers;
+import app.util.AfterCommit;
+import app.util.ETags;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of assembled PostResponse objects for {@code GET /api/posts/{postId}},
+ * bounded by {@code posts.cache.max-size} and {@code posts.cache.ttl}.
+ * <p>
+ * Staleness guarantees (single instance):
+ * <ul>
+ *   <li>Post edits and deletes, owner profile changes, likes/unlikes and comment creates/deletes
+ *       evict the affected entries when the change is made and again after it commits. A read that
+ *       starts after the commit never sees the old value: an in-progress load of the same key
+ *       completes first and is then evicted.</li>
+ *   <li>In like write-behind mode, like counts follow the database, so they show a like once the
+ *       buffer has flushed it (within {@code likes.write-behind.max-lag-ms}).</li>
+ *   <li>Changes made elsewhere (another instance, counter reconciliation, manual SQL) are only
+ *       picked up when the entry expires, i.e. after at most {@code posts.cache.ttl}.</li>
+ *   <li>Entries are only loaded in read-write transactions, i.e. from the primary, so a lagging
+ *       read replica cannot put an old version back after an eviction.</li>
+ * </ul>
+ * Cached responses are shared between requests and must not be modified.
+ */
+@Component
+public class PostResponseCache {
+
+    /**
+     * @param etag Strong ETag of the response (see ETags#forPost)
+     */
+    public record Entry(UUID ownerId, PostResponse response, String etag) {
+    }
+
+    private final Cache<UUID, Entry> cache;
+    private final TransactionTemplate transactionTemplate;
+
+    public PostResponseCache(MeterRegistry meterRegistry,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${posts.cache.max-size:10000}") long maxSize,
+                             @Value("${posts.cache.ttl:30s}") Duration ttl) {
+        this.transactionTemplate = transactionTemplate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // cache.gets{result=hit|miss}, cache.evictions and cache.size under cache=posts.response
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "posts.response");
+        meterRegistry.gauge("posts.response.cache.hit.ratio", cache, c -> c.stats().hitRate());
+    }
+
+    /**
+     * Cached response for the post, loading and assembling it on a miss. A hit needs no transaction;
+     * outside one, a miss is loaded in a short read-write transaction, i.e. from the primary.
+     */
+    public Entry get(UUID postId, Function<UUID, GlobalPost> loader, Function<GlobalPost, PostResponse> mapper) {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // Read-only transactions may read a lagging replica: serve what it returns, but never cache it
+            Entry cached = cache.getIfPresent(postId);
+            return cached != null ? cached : assemble(loader.apply(postId), mapper);
+        }
+        return cache.get(postId, id -> transactionTemplate.execute(status -> assemble(loader.apply(id), mapper)));
+    }
+
+    private static Entry assemble(GlobalPost post, Function<GlobalPost, PostResponse> mapper) {
+        GlobalUsers owner = post.getPostOwner();
+        String etag = ETags.forPost(post.getId(), post.getVersion(), owner.getVersion(),
+                post.getLikeCount(), post.getCommentCount());
+        return new Entry(owner.getId(), mapper.apply(post), etag);
+    }
+
+    /**
+     * ETag of the cached response, or null if the post is not cached. Does not count as a cache access.
+     */
+    public String cachedEtag(UUID postId) {
+        Entry entry = cache.policy().getIfPresentQuietly(postId);
+        return entry == null ? null : entry.etag();
+    }
+
+    /**
+     * Evict one post now and again after the current transaction commits
+     */
+    public void evict(UUID postId) {
+        AfterCommit.nowAndAfterCommit(() -> cache.invalidate(postId));
+    }
+
+    /**
+     * Evict every cached post of an owner (their name or picture is embedded in each response)
+     */
+    public void evictOwner(UUID ownerId) {
+        AfterCommit.nowAndAfterCommit(
+                () -> cache.asMap().values().removeIf(cached -> cached.ownerId().equals(ownerId)));
+    }
+}
@@ -1,22 +1,33 @@
 package app.service;
 
+import app.dto.CursorPageResponse;
 import app.dto.PostResponse;
+import app.event.PostCreatedEvent;
+import app.event.PostDeletedEvent;
 import app.exception.PostNotFoundException;
 import app.exception.UnauthorizedException;
 import app.model.GlobalPost;
 import app.model.GlobalUsers;
-import app.repository.GlobalCommentRepository;
-import app.repository.GlobalLikeRepository;
 import app.repository.GlobalPostRepository;
+import app.repository.GlobalUsersRepository;
+import app.util.ETags;
+import app.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -25,8 +36,10 @@ public class PostService {
 
     private static final Logger logger = LoggerFactory.getLogger(PostService.class);
     private final GlobalPostRepository postRepository;
-    private final GlobalLikeRepository likeRepository;  // Direct repo instead of service
-    private final GlobalCommentRepository commentRepository;  // Direct repo instead of service
+    private final GlobalUsersRepository usersRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PostResponseCache postResponseCache;
+    private final LikedPostsCache likedPostsCache;
 
     /**
      * Create a new post
@@ -38,6 +51,7 @@ public class PostService {
 
         GlobalPost post = new GlobalPost(contentLink, owner);
         GlobalPost savedPost = postRepository.save(post);
+        eventPublisher.publishEvent(new PostCreatedEvent(savedPost.getId(), owner.getId()));
         logger.info("Post created with ID: {} by user: {}", savedPost.getId(), owner.getId());
         return savedPost;
     }
@@ -45,6 +59,7 @@ public class PostService {
     /**
      * Get post by ID
      */
+    @Transactional(readOnly = true)
     public GlobalPost getPostById(UUID postId) {
         return postRepository.findById(postId)
                 .orElseThrow(() -> new PostNotFoundException("Post not found with ID: " + postId));
@@ -53,6 +68,7 @@ public class PostService {
     /**
      * Get all posts by a user
      */
+    @Transactional(readOnly = true)
     public Page<GlobalPost> getUserPosts(UUID userId, Pageable pageable) {
         return postRepository.findByPostOwnerId(userId, pageable);
     }
@@ -60,10 +76,63 @@ public class PostService {
     /**
      * Get feed (all posts paginated)
      */
+    @Transactional(readOnly = true)
     public Page<GlobalPost> getFeed(Pageable pageable) {
         return postRepository.findAllForFeed(pageable);
     }
 
+    /**
+     * Get one page of the feed using keyset pagination on (createdAt, id).
+     * Cost is independent of how deep the page is, and no COUNT query is issued.
+     * @param cursor   Opaque cursor from the previous page, or null for the first page
+     * @param limit    Page size
+     * @param viewerId User the likedByMe flags are filled for
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<PostResponse> getFeedPage(String cursor, int limit, UUID viewerId) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        // Fetch one extra row to know whether another page exists
+        Pageable window = PageRequest.of(0, limit + 1);
+
+        List<GlobalPost> posts = position == null
+                ? postRepository.findFeedFirstPage(window)
+                : postRepository.findFeedAfter(position.createdAt(), position.id(), window);
+
+        String nextCursor = null;
+        if (posts.size() > limit) {
+            posts = posts.subList(0, limit);
+            GlobalPost last = posts.get(limit - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return new CursorPageResponse<>(markLikedByViewer(mapPostsToResponses(posts), viewerId), nextCursor);
+    }
+
+    /**
+     * Get the assembled response for a post and its ETag, from PostResponseCache when possible.
+     * Opens no transaction of its own, so a cache hit does not check out a connection; the cache
+     * loads a miss in a read-write transaction, since it refills the shared cache from the primary.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public PostResponseCache.Entry getPostResponse(UUID postId) {
+        return postResponseCache.get(postId, this::getPostById, this::mapPostToResponse);
+    }
+
+    /**
+     * Current ETag of a post's response: from the cache, or else from a version-only query
+     * (no entity, owner or mapping), so a matching If-None-Match costs at most one narrow lookup
+     */
+    @Transactional(readOnly = true)
+    public String getPostEtag(UUID postId) {
+        String cached = postResponseCache.cachedEtag(postId);
+        if (cached != null) {
+            return cached;
+        }
+        return postRepository.findVersionById(postId)
+                .map(v -> ETags.forPost(postId, v.getVersion(), v.getOwnerVersion(), v.getLikeCount(), v.getCommentCount()))
+                .orElseThrow(() -> new PostNotFoundException("Post not found with ID: " + postId));
+    }
+
     /**
      * Update post (only owner can update)
      */
@@ -83,6 +152,7 @@ public class PostService {
 
         post.setContentLink(newContentLink);
         GlobalPost updatedPost = postRepository.save(post);
+        postResponseCache.evict(postId);
         logger.info("Post {} updated by user: {}", postId, currentUser.getId());
         return updatedPost;
     }
@@ -100,21 +170,27 @@ public class PostService {
 
         post.setDeleted(true);
         postRepository.save(post);
+        postResponseCache.evict(postId);
+        eventPublisher.publishEvent(new PostDeletedEvent(postId, currentUser.getId()));
         logger.info("Post {} soft deleted by user: {}", postId, currentUser.getId());
     }
 
     /**
-     * Get like count for a post (using repository directly)
+     * Get like count for a post (reads the denormalized counter column)
      */
+    @Transactional(readOnly = true)
     public long getPostLikeCount(UUID postId) {
-        return likeRepository.countByPostId(postId);
+        return postRepository.findLikeCountById(postId)
+                .orElseThrow(() -> new PostNotFoundException("Post not found with ID: " + postId));
     }
 
     /**
-     * Get comment count for a post (using repository directly)
+     * Get comment count for a post (reads the denormalized counter column)
      */
+    @Transactional(readOnly = true)
     public long getPostCommentCount(UUID postId) {
-        return commentRepository.countByPostId(postId);
+        return postRepository.findCommentCountById(postId)
+                .orElseThrow(() -> new PostNotFoundException("Post not found with ID: " + postId));
     }
 
     /**
@@ -127,13 +203,58 @@ public class PostService {
                 post.getPostOwner().getUsername(),
                 post.getPostOwner().getFullName(),
                 post.getPostOwner().getProfilePicture(),
-                getPostLikeCount(post.getId()),
-                getPostCommentCount(post.getId()),
+                post.getLikeCount(),
+                post.getCommentCount(),
                 post.getCreatedAt(),
-                post.getEditedAt()
+                post.getEditedAt(),
+                null
         );
     }
 
+    /**
+     * Map a whole page of posts to PostResponse DTOs.
+     * Counters live on the post row, and owners are fetched with the page (see the entity graphs
+     * on GlobalPostRepository). Any owner proxy that is still uninitialized is loaded with a single
+     * IN query, so a page of any size costs a constant number of statements.
+     */
+    public List<PostResponse> mapPostsToResponses(Page<GlobalPost> posts) {
+        return mapPostsToResponses(posts.getContent());
+    }
+
+    /**
+     * Map a list of posts to PostResponse DTOs (see {@link #mapPostsToResponses(Page)})
+     */
+    public List<PostResponse> mapPostsToResponses(List<GlobalPost> posts) {
+        Set<UUID> unloadedOwnerIds = posts.stream()
+                .map(GlobalPost::getPostOwner)
+                .filter(owner -> !Hibernate.isInitialized(owner))
+                .map(GlobalUsers::getId)
+                .collect(Collectors.toSet());
+
+        if (!unloadedOwnerIds.isEmpty()) {
+            // Loads the owners into the persistence context, which initializes the proxies
+            usersRepository.findAllById(unloadedOwnerIds);
+        }
+
+        return posts.stream()
+                .map(this::mapPostToResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Fill likedByMe on freshly mapped responses (never on shared PostResponseCache entries):
+     * answered from the viewer's cached like set, with one IN query for posts it does not cover
+     */
+    @Transactional(readOnly = true)
+    public List<PostResponse> markLikedByViewer(List<PostResponse> posts, UUID viewerId) {
+        if (posts.isEmpty()) {
+            return posts;
+        }
+        Set<UUID> liked = likedPostsCache.likedAmong(viewerId, posts.stream().map(PostResponse::getId).toList());
+        posts.forEach(post -> post.setLikedByMe(liked.contains(post.getId())));
+        return posts;
+    }
+
     /**
      * Save post (for internal use)
      */
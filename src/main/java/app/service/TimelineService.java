@@ -0,0 +1,183 @@
+package app.service;
+
+import app.dto.CursorPageResponse;
+import app.dto.PostResponse;
+import app.event.PostCreatedEvent;
+import app.event.PostDeletedEvent;
+import app.model.GlobalPost;
+import app.repository.GlobalFollowRepository;
+import app.repository.GlobalPostRepository;
+import app.repository.GlobalTimelineRepository;
+import app.repository.GlobalUsersRepository;
+import app.util.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Home timelines with hybrid fan-out.
+ * <ul>
+ *     <li>Normal accounts: each new post is copied into every follower's timeline after commit
+ *     (fan-out-on-write), so reading is one range scan on global_timeline's idx_timeline_user_recent index.</li>
+ *     <li>Accounts with at least {@code timeline.fanout.max-followers} followers are skipped on write;
+ *     their recent posts are merged in when a follower reads (fan-out-on-read).</li>
+ * </ul>
+ * Timelines are bounded by {@code timeline.retention}: older entries are trimmed periodically.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class TimelineService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimelineService.class);
+
+    // Same order as "ORDER BY created_at DESC, id DESC" (UUIDs are compared as unsigned bytes, like BINARY(16))
+    private static final Comparator<GlobalPost> NEWEST_FIRST = Comparator
+            .comparing(GlobalPost::getCreatedAt)
+            .thenComparing(GlobalPost::getId, TimelineService::compareAsBinary)
+            .reversed();
+
+    private final GlobalTimelineRepository timelineRepository;
+    private final GlobalFollowRepository followRepository;
+    private final GlobalPostRepository postRepository;
+    private final GlobalUsersRepository usersRepository;
+    private final PostService postService;
+
+    @Value("${timeline.fanout.max-followers:10000}")
+    private long fanOutMaxFollowers;
+
+    @Value("${timeline.retention:30d}")
+    private Duration retention;
+
+    /**
+     * Publish a new post into timelines (runs asynchronously after the post is committed)
+     */
+    @Async
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onPostCreated(PostCreatedEvent event) {
+        timelineRepository.insertForOwner(event.postId());
+
+        long followerCount = usersRepository.findFollowerCountById(event.ownerId()).orElse(0L);
+        if (isFanOutOnRead(followerCount)) {
+            logger.debug("Post {} left for fan-out-on-read ({} followers)", event.postId(), followerCount);
+            return;
+        }
+
+        int inserted = timelineRepository.fanOutToFollowers(event.postId());
+        logger.info("Post {} fanned out to {} timelines", event.postId(), inserted);
+    }
+
+    /**
+     * Retract a deleted post from every timeline (runs asynchronously after commit)
+     */
+    @Async
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onPostDeleted(PostDeletedEvent event) {
+        int removed = timelineRepository.deleteByPostId(event.postId());
+        logger.info("Post {} retracted from {} timelines", event.postId(), removed);
+    }
+
+    /**
+     * Backfill a newly followed account's recent posts (called inside the follow transaction)
+     */
+    public void onFollow(UUID followerId, UUID followeeId, long followeeFollowerCount) {
+        if (!isFanOutOnRead(followeeFollowerCount)) {
+            timelineRepository.backfillFromAuthor(followerId, followeeId, Instant.now().minus(retention));
+        }
+    }
+
+    /**
+     * Remove an unfollowed account's posts (called inside the unfollow transaction)
+     */
+    public void onUnfollow(UUID followerId, UUID followeeId) {
+        timelineRepository.deleteByUserIdAndAuthorId(followerId, followeeId);
+    }
+
+    /**
+     * Get one page of a user's home timeline, newest first
+     * @param userId Owner of the timeline
+     * @param cursor Opaque cursor from the previous page, or null for the first page
+     * @param limit  Page size
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<PostResponse> getHomeTimeline(UUID userId, String cursor, int limit) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        // Fetch one extra row from each source to know whether another page exists
+        Pageable window = PageRequest.of(0, limit + 1);
+
+        // Fan-out-on-write part: a single range scan over the user's timeline
+        List<UUID> postIds = position == null
+                ? timelineRepository.findPostIds(userId, window)
+                : timelineRepository.findPostIdsAfter(userId, position.createdAt(), position.id(), window);
+        List<GlobalPost> candidates = new ArrayList<>();
+        if (!postIds.isEmpty()) {
+            candidates.addAll(postRepository.findAllWithOwnerByIdIn(postIds));
+        }
+        boolean hasMore = postIds.size() > limit;
+
+        // Fan-out-on-read part: recent posts of followed high-follower accounts
+        List<UUID> largeFollowees = followRepository.findFolloweeIdsWithFollowersAtLeast(userId, fanOutMaxFollowers);
+        if (!largeFollowees.isEmpty()) {
+            List<GlobalPost> pulled = position == null
+                    ? postRepository.findByOwners(largeFollowees, window)
+                    : postRepository.findByOwnersAfter(largeFollowees, position.createdAt(), position.id(), window);
+            candidates.addAll(pulled);
+            hasMore |= pulled.size() > limit;
+        }
+
+        // Merge both sources; a post can be in both if its author crossed the threshold
+        Map<UUID, GlobalPost> unique = new LinkedHashMap<>();
+        candidates.forEach(post -> unique.putIfAbsent(post.getId(), post));
+        List<GlobalPost> merged = new ArrayList<>(unique.values());
+        merged.sort(NEWEST_FIRST);
+        hasMore |= merged.size() > limit;
+
+        List<GlobalPost> page = merged.subList(0, Math.min(limit, merged.size()));
+        String nextCursor = null;
+        if (hasMore && !page.isEmpty()) {
+            GlobalPost last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return new CursorPageResponse<>(postService.markLikedByViewer(postService.mapPostsToResponses(page), userId), nextCursor);
+    }
+
+    /**
+     * Trim timeline entries older than the retention window (default: hourly)
+     */
+    @Scheduled(initialDelayString = "${timeline.trim-initial-delay-ms:300000}",
+            fixedDelayString = "${timeline.trim-interval-ms:3600000}")
+    public void trimTimelines() {
+        int removed = timelineRepository.deleteOlderThan(Instant.now().minus(retention));
+        logger.info("Trimmed {} expired timeline entries", removed);
+    }
+
+    private boolean isFanOutOnRead(long followerCount) {
+        return followerCount >= fanOutMaxFollowers;
+    }
+
+    private static int compareAsBinary(UUID a, UUID b) {
+        int cmp = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return cmp != 0 ? cmp : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
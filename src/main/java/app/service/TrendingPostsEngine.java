@@ -0,0 +1,268 @@
+package app.service;
+
+import app.dto.TrendingPostResponse;
+import app.event.PostDeletedEvent;
+import app.event.PostEngagementEvent;
+import app.util.UuidBytes;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory "trending posts" ranking over a sliding window (default: the last hour in one-minute buckets).
+ * <p>
+ * Each post with recent engagement has a ring of time buckets. A like/comment is one CAS on the current
+ * bucket, with no lock and no database access. Every {@code trending.refresh-interval-ms} the active posts
+ * are scored (each bucket weighted by {@code 0.5^(age / half-life)}), the best {@code trending.top-k} are
+ * selected with a bounded min-heap, and the result is published as an immutable snapshot. Requests only
+ * read that snapshot, so they never wait on the ranking or on the database.
+ * <p>
+ * The state is per instance. It is rebuilt after startup from the likes and comments inside the window,
+ * then fed by PostEngagementEvent; counts are approximate around the rebuild and around eviction of idle posts.
+ * Both rebuild queries are range scans on the timestamp indexes (idx_liked_at on global_like, idx_created_at
+ * on global_comments), so the rebuild reads only the window, not the whole tables.
+ */
+@Service
+public class TrendingPostsEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingPostsEngine.class);
+
+    private static final String RECENT_LIKES =
+            "SELECT l.post_id, l.liked_at FROM global_like l JOIN global_posts p ON p.id = l.post_id " +
+            "WHERE l.liked_at >= ? AND l.liked_at < ? AND p.is_deleted = false";
+    private static final String RECENT_COMMENTS =
+            "SELECT c.post_id, c.created_at FROM global_comments c JOIN global_posts p ON p.id = c.post_id " +
+            "WHERE c.created_at >= ? AND c.created_at < ? AND c.is_deleted = false AND p.is_deleted = false";
+
+    private static final Comparator<TrendingPostResponse> BY_SCORE =
+            Comparator.comparingDouble(TrendingPostResponse::getScore);
+
+    /**
+     * Ring of buckets for one post. Each slot packs the bucket number (high 32 bits) with the
+     * count (low 32 bits), so moving a slot to a new bucket and counting in it is a single CAS.
+     */
+    private static final class BucketRing {
+        private final AtomicLongArray slots;
+
+        BucketRing(int size) {
+            slots = new AtomicLongArray(size);
+        }
+
+        void add(long bucket, int delta) {
+            int index = (int) (bucket % slots.length());
+            long current;
+            long updated;
+            do {
+                current = slots.get(index);
+                long slotBucket = current >>> 32;
+                if (slotBucket > bucket) {
+                    return; // Older than the window (only happens while rebuilding)
+                }
+                int count = slotBucket == bucket ? (int) current : 0;
+                updated = (bucket << 32) | ((count + delta) & 0xFFFFFFFFL);
+            } while (!slots.compareAndSet(index, current, updated));
+        }
+
+        /**
+         * @return true if no slot holds a bucket inside the window ending at nowBucket
+         */
+        boolean isIdle(long nowBucket) {
+            for (int i = 0; i < slots.length(); i++) {
+                if (nowBucket - (slots.get(i) >>> 32) < slots.length()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private final ConcurrentHashMap<UUID, BucketRing> rings = new ConcurrentHashMap<>();
+    private volatile List<TrendingPostResponse> snapshot = List.of();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Timer refreshTimer;
+
+    @Value("${trending.window:1h}")
+    private Duration window;
+
+    @Value("${trending.bucket:1m}")
+    private Duration bucket;
+
+    @Value("${trending.half-life:20m}")
+    private Duration halfLife;
+
+    @Value("${trending.top-k:100}")
+    private int topK;
+
+    @Value("${trending.like-weight:1}")
+    private int likeWeight;
+
+    @Value("${trending.comment-weight:2}")
+    private int commentWeight;
+
+    private long bucketMillis;
+    private int bucketCount;
+    private double[] decayByAge; // Index: bucket age, 0 = current bucket
+
+    public TrendingPostsEngine(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.refreshTimer = meterRegistry.timer("posts.trending.refresh");
+        meterRegistry.gaugeMapSize("posts.trending.tracked", List.of(), rings);
+    }
+
+    @PostConstruct
+    void configure() {
+        bucketMillis = bucket.toMillis();
+        if (bucketMillis <= 0 || window.toMillis() < bucketMillis) {
+            throw new IllegalStateException("trending.bucket (" + bucket + ") must be positive and at most trending.window (" + window + ")");
+        }
+        bucketCount = (int) (window.toMillis() / bucketMillis);
+        decayByAge = new double[bucketCount];
+        for (int age = 0; age < bucketCount; age++) {
+            decayByAge[age] = Math.pow(0.5, (double) age * bucketMillis / halfLife.toMillis());
+        }
+    }
+
+    /**
+     * Rebuild the window from the database (runs once, in the background, after startup)
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        // Rows up to the cutoff come from the database; anything later arrives as events
+        Instant cutoff = Instant.now();
+        Timestamp from = Timestamp.from(cutoff.minus(window));
+        Timestamp to = Timestamp.from(cutoff);
+
+        long[] rows = new long[1];
+        jdbcTemplate.query(RECENT_LIKES, rs -> {
+            record(UuidBytes.fromBytes(rs.getBytes(1)), rs.getTimestamp(2).toInstant(), likeWeight);
+            rows[0]++;
+        }, from, to);
+        jdbcTemplate.query(RECENT_COMMENTS, rs -> {
+            record(UuidBytes.fromBytes(rs.getBytes(1)), rs.getTimestamp(2).toInstant(), commentWeight);
+            rows[0]++;
+        }, from, to);
+
+        refresh();
+        logger.info("Trending engine rebuilt from {} likes/comments over {} posts in {} ms",
+                rows[0], rings.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEngagement(PostEngagementEvent event) {
+        int delta = switch (event.type()) {
+            case LIKE -> likeWeight;
+            case UNLIKE -> -likeWeight;
+            case COMMENT -> commentWeight;
+            case UNCOMMENT -> -commentWeight;
+        };
+        record(event.postId(), Instant.now(), delta);
+    }
+
+    @TransactionalEventListener
+    public void onPostDeleted(PostDeletedEvent event) {
+        remove(List.of(event.postId()));
+    }
+
+    /**
+     * Stop ranking deleted posts (takes effect immediately, without waiting for the next refresh)
+     */
+    public void remove(Collection<UUID> postIds) {
+        postIds.forEach(rings::remove);
+        List<TrendingPostResponse> current = snapshot;
+        if (current.stream().anyMatch(post -> postIds.contains(post.getPostId()))) {
+            snapshot = current.stream().filter(post -> !postIds.contains(post.getPostId())).toList();
+        }
+    }
+
+    /**
+     * The current top posts, highest score first (read from the last snapshot)
+     */
+    public List<TrendingPostResponse> top(int limit) {
+        List<TrendingPostResponse> current = snapshot;
+        return current.subList(0, Math.min(limit, current.size()));
+    }
+
+    public int maxResults() {
+        return topK;
+    }
+
+    /**
+     * Re-score active posts and publish a new top-K snapshot (default: every 5 seconds)
+     */
+    @Scheduled(fixedDelayString = "${trending.refresh-interval-ms:5000}")
+    public void refresh() {
+        refreshTimer.record(() -> {
+            long nowBucket = currentBucket(Instant.now());
+            PriorityQueue<TrendingPostResponse> heap = new PriorityQueue<>(topK + 1, BY_SCORE);
+
+            rings.forEach((postId, ring) -> {
+                if (ring.isIdle(nowBucket)) {
+                    rings.computeIfPresent(postId, (id, current) -> current.isIdle(nowBucket) ? null : current);
+                    return;
+                }
+                TrendingPostResponse scored = score(postId, ring, nowBucket);
+                if (scored.getScore() <= 0) {
+                    return;
+                }
+                if (heap.size() < topK) {
+                    heap.add(scored);
+                } else if (scored.getScore() > heap.peek().getScore()) {
+                    heap.poll();
+                    heap.add(scored);
+                }
+            });
+
+            List<TrendingPostResponse> ranked = new ArrayList<>(heap);
+            ranked.sort(BY_SCORE.reversed());
+            snapshot = List.copyOf(ranked);
+        });
+    }
+
+    private void record(UUID postId, Instant at, int delta) {
+        rings.computeIfAbsent(postId, id -> new BucketRing(bucketCount)).add(currentBucket(at), delta);
+    }
+
+    private TrendingPostResponse score(UUID postId, BucketRing ring, long nowBucket) {
+        double score = 0;
+        long engagement = 0;
+        for (int i = 0; i < ring.slots.length(); i++) {
+            long slot = ring.slots.get(i);
+            long age = nowBucket - (slot >>> 32);
+            if (age >= 0 && age < bucketCount) {
+                int count = (int) slot;
+                score += count * decayByAge[(int) age];
+                engagement += count;
+            }
+        }
+        return new TrendingPostResponse(postId, score, engagement);
+    }
+
+    private long currentBucket(Instant at) {
+        return at.toEpochMilli() / bucketMillis;
+    }
+}
@@ -0,0 +1,193 @@
+package app.service;
+
+import app.dto.UserSearchResult;
+import app.model.GlobalUsers;
+import app.repository.GlobalUsersRepository;
+import app.util.AfterCommit;
+import app.util.UuidBytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory prefix index over usernames and names, for user search and mention autocomplete.
+ * <p>
+ * Every active user is indexed under its lower-cased username, full name and each part of the name,
+ * each stored as a (term, user) posting in a sorted set ordered by term, then user ID. A posting only
+ * references the term and the shared UserSearchResult, so a user costs a few skip-list nodes rather
+ * than a concatenated key string per term. A prefix query is a range scan over that set that stops
+ * after {@code limit} distinct users, so it costs O(log n + limit) however common the prefix.
+ * Results come back in term order, which puts exact and shorter matches first.
+ * <p>
+ * Loaded in the background after startup from a chunked scan (queries fall back to the database
+ * until then), then kept current by UserService and AuthService after their transactions commit.
+ */
+@Service
+public class UserSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSearchIndex.class);
+
+    private static final int LOAD_CHUNK_SIZE = 10_000;
+    private static final String LOAD_COLUMNS = "SELECT id, username, first_name, middle_name, last_name, profile_picture FROM global_users";
+    private static final String LOAD_FIRST_CHUNK =
+            LOAD_COLUMNS + " WHERE is_deleted = false ORDER BY id LIMIT " + LOAD_CHUNK_SIZE;
+    private static final String LOAD_NEXT_CHUNK =
+            LOAD_COLUMNS + " WHERE is_deleted = false AND id > ? ORDER BY id LIMIT " + LOAD_CHUNK_SIZE;
+
+    private static final RowMapper<GlobalUsers> USER_ROW = (rs, rowNum) -> {
+        GlobalUsers user = new GlobalUsers();
+        user.setId(UuidBytes.fromBytes(rs.getBytes("id")));
+        user.setUsername(rs.getString("username"));
+        user.setFirstName(rs.getString("first_name"));
+        user.setMiddleName(rs.getString("middle_name"));
+        user.setLastName(rs.getString("last_name"));
+        user.setProfilePicture(rs.getString("profile_picture"));
+        return user;
+    };
+
+    /**
+     * @param user Null only in range bounds, where it sorts before every user of the term
+     */
+    private record Posting(String term, UserSearchResult user) {
+    }
+
+    private static final Comparator<Posting> POSTING_ORDER = Comparator.comparing(Posting::term)
+            .thenComparing(Posting::user, Comparator.nullsFirst(Comparator.comparing(UserSearchResult::getId)));
+
+    private final ConcurrentSkipListSet<Posting> byTerm = new ConcurrentSkipListSet<>(POSTING_ORDER);
+    private final ConcurrentHashMap<UUID, UserSearchResult> byId = new ConcurrentHashMap<>();
+    // Users removed while the initial scan runs; a chunk read before their removal must not re-add them
+    private final Set<UUID> removedDuringLoad = ConcurrentHashMap.newKeySet();
+
+    private final GlobalUsersRepository globalUsersRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private volatile boolean loaded;
+
+    public UserSearchIndex(GlobalUsersRepository globalUsersRepository, JdbcTemplate jdbcTemplate) {
+        this.globalUsersRepository = globalUsersRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        List<GlobalUsers> chunk = jdbcTemplate.query(LOAD_FIRST_CHUNK, USER_ROW);
+        while (!chunk.isEmpty()) {
+            // An update or removal that raced the scan is newer than the row read here, so it wins
+            chunk.forEach(user -> byId.computeIfAbsent(user.getId(),
+                    id -> removedDuringLoad.contains(id) ? null : addTerms(toResult(user))));
+            byte[] lastId = UuidBytes.toBytes(chunk.get(chunk.size() - 1).getId());
+            chunk = chunk.size() < LOAD_CHUNK_SIZE ? List.of() : jdbcTemplate.query(LOAD_NEXT_CHUNK, USER_ROW, (Object) lastId);
+        }
+        loaded = true;
+        removedDuringLoad.clear();
+        logger.info("User search index loaded with {} users ({} terms) in {} ms",
+                byId.size(), byTerm.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Users whose username, first name, last name or full name starts with the prefix (case-insensitive)
+     */
+    public List<UserSearchResult> search(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (!loaded) {
+            return globalUsersRepository.findByUsernameStartingWithOrderByUsernameAsc(normalized, PageRequest.of(0, limit))
+                    .stream()
+                    .map(UserSearchIndex::toResult)
+                    .toList();
+        }
+
+        Map<UUID, UserSearchResult> matches = new LinkedHashMap<>();
+        for (Posting posting : byTerm.tailSet(new Posting(normalized, null))) {
+            if (!posting.term().startsWith(normalized)) {
+                break;
+            }
+            matches.putIfAbsent(posting.user().getId(), posting.user());
+            if (matches.size() == limit) {
+                break;
+            }
+        }
+        return new ArrayList<>(matches.values());
+    }
+
+    /**
+     * Index a new or changed user once the current transaction (if any) commits
+     */
+    public void upsert(GlobalUsers user) {
+        UserSearchResult result = toResult(user);
+        AfterCommit.run(() -> byId.compute(result.getId(), (id, previous) -> {
+            if (previous != null) {
+                removeTerms(previous);
+            }
+            return addTerms(result);
+        }));
+    }
+
+    /**
+     * Drop a user from the index once the current transaction (if any) commits
+     */
+    public void remove(UUID userId) {
+        AfterCommit.run(() -> {
+            if (!loaded) {
+                // Before the removal below, so a concurrent load of this user either is undone or sees it
+                removedDuringLoad.add(userId);
+            }
+            byId.computeIfPresent(userId, (id, previous) -> {
+                removeTerms(previous);
+                return null;
+            });
+        });
+    }
+
+    private UserSearchResult addTerms(UserSearchResult result) {
+        for (String term : termsOf(result)) {
+            byTerm.add(new Posting(term, result));
+        }
+        return result;
+    }
+
+    private void removeTerms(UserSearchResult result) {
+        for (String term : termsOf(result)) {
+            byTerm.remove(new Posting(term, result));
+        }
+    }
+
+    private static List<String> termsOf(UserSearchResult result) {
+        List<String> terms = new ArrayList<>(4);
+        terms.add(normalize(result.getUsername()));
+        String fullName = normalize(result.getFullName());
+        terms.add(fullName);
+        for (String part : fullName.split(" ")) {
+            if (!part.isEmpty() && !terms.contains(part)) {
+                terms.add(part);
+            }
+        }
+        return terms;
+    }
+
+    private static UserSearchResult toResult(GlobalUsers user) {
+        return new UserSearchResult(user.getId(), user.getUsername(), user.getFullName(), user.getProfilePicture());
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
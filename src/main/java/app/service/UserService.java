@@ -1,6 +1,8 @@
 package app.service;
 
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import app.dto.UserInfoRequest;
@@ -9,6 +11,7 @@ import app.exception.UserAlreadyExistsException;
 import app.exception.UserNotFoundException;
 import app.model.GlobalUsers;
 import app.repository.GlobalUsersRepository;
+import app.util.ETags;
 
 import java.util.UUID;
 
@@ -16,7 +19,14 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class UserService {
 
+    private static final Logger logger = LoggerFactory.getLogger(UserService.class);
+
     private final GlobalUsersRepository globalUsersRepository;
+    private final GlobalUserDetailsService userDetailsService;
+    private final AvailabilityService availabilityService;
+    private final UserSearchIndex userSearchIndex;
+    private final PostResponseCache postResponseCache;
+    private final AccountPurgeService accountPurgeService;
 
     /**
      * Finds a user by their unique ID.
@@ -37,6 +47,29 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
+    /**
+     * Current ETag of a user's profile, from a version-only query.
+     *
+     * @param id The UUID of the user.
+     * @return The strong ETag (see ETags#forUser).
+     * @throws UserNotFoundException if no user exists with the given ID.
+     */
+    public String getUserEtag(UUID id) {
+        return globalUsersRepository.findVersionById(id)
+                .map(version -> ETags.forUser(id, version))
+                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + id));
+    }
+
+    /**
+     * ETag of an already loaded user's profile.
+     *
+     * @param user The preloaded GlobalUsers entity.
+     * @return The strong ETag (see ETags#forUser).
+     */
+    public String getUserEtag(GlobalUsers user) {
+        return ETags.forUser(user.getId(), user.getVersion());
+    }
+
     /**
      * Takes the full GlobalUsers entity (already loaded by Spring Security)
      * and maps it directly to the response DTO.
@@ -96,20 +129,35 @@ public class UserService {
             user.setMiddleName(request.getMiddleName());
         }
 
-        return globalUsersRepository.save(user);
+        GlobalUsers savedUser = globalUsersRepository.save(user);
+        availabilityService.recordTaken(savedUser.getUsername(), savedUser.getEmail());
+        userSearchIndex.upsert(savedUser);
+        // Posts embed the owner's name and picture
+        postResponseCache.evictOwner(savedUser.getId());
+        // Username, profile picture etc. may have changed: drop the cached principal
+        userDetailsService.evictUser(user.getId());
+        return savedUser;
     }
 
     /**
-     * Deletes a user by their unique ID.
+     * Soft deletes a user by their unique ID and queues the purge of their content (see AccountPurgeService).
      *
      * @param id The UUID of the user to delete.
      * @throws UserNotFoundException if the user to delete does not exist.
      */
+    @Transactional // The soft delete and the purge row commit together
     public void deleteUser(UUID id) {
-        if (!globalUsersRepository.existsById(id)) {
-            throw new UserNotFoundException("Cannot delete: User not found with ID: " + id);
-        }
-        globalUsersRepository.deleteById(id);
-        System.out.println("LOG: User ID " + id + " successfully deleted.");
+        GlobalUsers user = globalUsersRepository.findById(id)
+                .orElseThrow(() -> new UserNotFoundException("Cannot delete: User not found with ID: " + id));
+
+        // Soft delete now; posts, likes, comments and follows are purged in the background
+        user.setDeleted(true);
+        globalUsersRepository.save(user);
+        accountPurgeService.enqueue(id);
+
+        userDetailsService.evictUser(id);
+        userSearchIndex.remove(id);
+        postResponseCache.evictOwner(id);
+        logger.info("User {} soft deleted, content purge queued", id);
     }
 }
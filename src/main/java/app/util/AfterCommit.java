@@ -0,0 +1,45 @@
+package app.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory cache and index updates until the current transaction commits, so a rollback
+ * never leaves them ahead of the database.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Run the action once the current transaction commits, or at once if there is no transaction
+     */
+    public static void run(Runnable action) {
+        if (!register(action)) {
+            action.run();
+        }
+    }
+
+    /**
+     * Run the action at once, and again after commit if there is a transaction. Used for evictions:
+     * a concurrent read could otherwise re-cache the old row between the first eviction and the commit.
+     */
+    public static void nowAndAfterCommit(Runnable action) {
+        action.run();
+        register(action);
+    }
+
+    private static boolean register(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+        return true;
+    }
+}
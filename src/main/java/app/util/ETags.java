@@ -0,0 +1,25 @@
+package app.util;
+
+import java.util.UUID;
+
+/**
+ * Strong ETags built from entity IDs and @Version values, so a client's If-None-Match can be
+ * checked against a version-only lookup without loading or mapping the entity.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * A post response also embeds its owner's profile and the counters, which bulk UPDATEs change
+     * without bumping the post's version, so all of them are part of the tag.
+     */
+    public static String forPost(UUID postId, Long version, Long ownerVersion, long likeCount, long commentCount) {
+        return "\"p-" + postId + "-" + version + "-" + ownerVersion + "-" + likeCount + "-" + commentCount + "\"";
+    }
+
+    public static String forUser(UUID userId, Long version) {
+        return "\"u-" + userId + "-" + version + "\"";
+    }
+}
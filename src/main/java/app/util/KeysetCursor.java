@@ -0,0 +1,50 @@
+package app.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a list ordered by (createdAt DESC, id DESC).
+ * Clients only ever see the opaque, URL-safe token produced by {@link #encode()}.
+ *
+ * @param createdAt Creation time of the last item on the previous page
+ * @param id        ID of the last item on the previous page (tie-breaker)
+ */
+public record KeysetCursor(Instant createdAt, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Encode this position as an opaque cursor token
+     * @return Base64url token
+     */
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor token received from a client
+     * @param token Token from a previous response, may be null or blank for the first page
+     * @return Decoded cursor, or null for the first page
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new KeysetCursor(
+                    Instant.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package app.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * JDBC statements issued by the current request thread, grouped by statement shape
+ * (the SQL with literals and IN-lists collapsed, so the same query with other parameters matches).
+ * Statements on threads without an active request (schedulers, @Async listeners) are not tracked.
+ */
+public final class RequestStatementStats {
+
+    private static final ThreadLocal<RequestStatementStats> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Map<String, Integer> statementsByShape = new HashMap<>();
+    private int statements;
+    private long dbTimeNanos;
+    private long statementStartedAt;
+
+    private RequestStatementStats() {
+    }
+
+    public static void begin() {
+        CURRENT.set(new RequestStatementStats());
+    }
+
+    /**
+     * Stop tracking the current thread
+     * @return The statistics collected since {@link #begin()}, or null if tracking was not active
+     */
+    public static RequestStatementStats end() {
+        RequestStatementStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    public static void statementStarted() {
+        RequestStatementStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statementStartedAt = System.nanoTime();
+        }
+    }
+
+    public static void statementFinished(String sql) {
+        RequestStatementStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.dbTimeNanos += System.nanoTime() - stats.statementStartedAt;
+            stats.statementsByShape.merge(shapeOf(sql), 1, Integer::sum);
+        }
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long dbTimeNanos() {
+        return dbTimeNanos;
+    }
+
+    /**
+     * The statement shape executed most often in this request, with its count
+     */
+    public Optional<Map.Entry<String, Integer>> mostRepeatedShape() {
+        return statementsByShape.entrySet().stream().max(Map.Entry.comparingByValue());
+    }
+
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
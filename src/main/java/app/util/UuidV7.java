@@ -0,0 +1,47 @@
+package app.util;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates RFC 9562 version 7 UUIDs: 48-bit Unix millisecond timestamp, then a 12-bit counter
+ * (rand_a, "method 1"), then 62 random bits. Values are strictly increasing within this JVM, so
+ * inserts keyed by them append to the right edge of the InnoDB clustered index instead of
+ * splitting pages all over it.
+ */
+public final class UuidV7 {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    // New milliseconds start the counter somewhere in its lower half, leaving room to count up
+    private static final int COUNTER_SEED_BOUND = 1 << (COUNTER_BITS - 1);
+
+    // (timestampMillis << 12) | counter of the last value handed out
+    private static final AtomicLong lastState = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID next() {
+        long now = System.currentTimeMillis();
+        long state;
+        while (true) {
+            long previous = lastState.get();
+            // Same (or earlier, if the clock went back) millisecond: bump the counter; an overflow
+            // carries into the timestamp field, which keeps the sequence monotonic
+            state = now > (previous >>> COUNTER_BITS)
+                    ? (now << COUNTER_BITS) | ThreadLocalRandom.current().nextInt(COUNTER_SEED_BOUND)
+                    : previous + 1;
+            if (lastState.compareAndSet(previous, state)) {
+                break;
+            }
+        }
+
+        long timestamp = state >>> COUNTER_BITS;
+        long counter = state & COUNTER_MASK;
+        long mostSigBits = (timestamp << 16) | 0x7000L | counter;
+        long leastSigBits = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
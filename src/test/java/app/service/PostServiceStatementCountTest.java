@@ -0,0 +1,99 @@
+package app.service;
+
+import app.dto.PostResponse;
+import app.model.GlobalPost;
+import app.model.GlobalUsers;
+import app.repository.GlobalPostRepository;
+import app.repository.GlobalUsersRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PostService#mapPostsToResponses must cost a constant number of statements, whatever the page size.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statement_count;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PostServiceStatementCountTest {
+
+    private static final int USERS = 40;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private GlobalPostRepository postRepository;
+
+    @Autowired
+    private GlobalUsersRepository usersRepository;
+
+    private PostService postService;
+    private Statistics statistics;
+    private final List<UUID> postIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // Mapping touches neither the response cache nor the liked-posts cache
+        postService = new PostService(postRepository, usersRepository, event -> { }, null, null);
+
+        // One post per owner, so every post in a page has a different owner proxy to initialize
+        for (int i = 0; i < USERS; i++) {
+            GlobalUsers owner = entityManager.persist(new GlobalUsers(
+                    "user" + i, "user" + i + "@test.local", "hash", "First" + i, null, "Last" + i));
+            postIds.add(entityManager.persist(new GlobalPost("https://cdn.test/post-" + i, owner)).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void mappingAPageCostsOneStatementWhateverItsSize() {
+        assertThat(statementsToMap(5)).isEqualTo(1);
+        assertThat(statementsToMap(USERS)).isEqualTo(1);
+    }
+
+    @Test
+    void mappingPostsWithLoadedOwnersCostsNoStatement() {
+        Page<GlobalPost> posts = postRepository.findAllForFeed(PageRequest.of(0, USERS));
+
+        statistics.clear();
+        postService.mapPostsToResponses(posts);
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    /**
+     * Load a page of posts with uninitialized owners, then count the statements mapping it takes
+     */
+    private long statementsToMap(int pageSize) {
+        entityManager.clear();
+        Page<GlobalPost> posts = new PageImpl<>(postRepository.findAllById(postIds.subList(0, pageSize)));
+
+        statistics.clear();
+        List<PostResponse> responses = postService.mapPostsToResponses(posts);
+
+        assertThat(responses).hasSize(pageSize)
+                .allSatisfy(response -> assertThat(response.getOwnerUsername()).startsWith("user"));
+        return statistics.getPrepareStatementCount();
+    }
+}